@@ -0,0 +1,117 @@
+package fastBigMath;
+
+import java.math.BigInteger;
+
+/**
+ * A {@code BigMathBackend} which delegates each operation to {@code java.math.BigInteger}. The operands
+ * and results are converted by divide and conquer with {@code BigMathHelper.toBigInteger} and 
+ * {@code BigMathHelper.fromBigInteger}.
+ * <p>
+ * The operands are checked against the same preconditions as {@code BigMathSimple}, and an
+ * {@code IllegalArgumentException} is thrown where {@code DigitArrayBackend} rejects them, rather than
+ * the {@code ArithmeticException} of {@code BigInteger}.
+ */
+
+public class BigIntegerBackend implements BigMathBackend {
+	
+	@Override
+	public int[] add (String sum1, String sum2) {
+		return BigMathHelper.fromBigInteger(toBigInteger(sum1).add(toBigInteger(sum2)));
+	}
+	
+	@Override
+	public int[] subtract (String min, String sub) {
+		return subtract(toBigInteger(min), toBigInteger(sub));
+	}
+	
+	@Override
+	public int[] multiply (String fact1, String fact2) {
+		return BigMathHelper.fromBigInteger(toBigInteger(fact1).multiply(toBigInteger(fact2)));
+	}
+	
+	@Override
+	public int[] divide (String divid, String div) {
+		
+		BigInteger n1 = toBigInteger(divid);
+		BigInteger n2 = toBigInteger(div);
+		
+		if (n2.signum() == 0)
+			throw new IllegalArgumentException("The divisor must not be zero.");
+		
+		return BigMathHelper.fromBigInteger(n1.divide(n2));
+	}
+	
+	@Override
+	public int[] modulate (String divid, String div) {
+		
+		BigInteger n1 = toBigInteger(divid);
+		BigInteger n2 = toBigInteger(div);
+		
+		// As in BigMathSimple.modulate, neither parameter may be zero and divid must be at least div
+		if (n1.signum() == 0 || n2.signum() == 0)
+			throw new IllegalArgumentException("Neither the dividend nor the divisor may be zero.");
+		
+		if (n1.compareTo(n2) < 0)
+			throw new IllegalArgumentException("The dividend must be greater than or equal to the divisor.");
+		
+		return BigMathHelper.fromBigInteger(n1.remainder(n2));
+	}
+	
+	@Override
+	public int[] add (int[] sum1, int[] sum2) {
+		return BigMathHelper.fromBigInteger(toBigInteger(sum1).add(toBigInteger(sum2)));
+	}
+	
+	@Override
+	public int[] subtract (int[] min, int[] sub) {
+		return subtract(toBigInteger(min), toBigInteger(sub));
+	}
+	
+	@Override
+	public int[] multiply (int[] fact1, int[] fact2) {
+		return BigMathHelper.fromBigInteger(toBigInteger(fact1).multiply(toBigInteger(fact2)));
+	}
+	
+	@Override
+	public String toString () {
+		return "BigIntegerBackend";
+	}
+	
+	/**
+	 * Parses an operand, applying the same validation as {@code BigMathHelper.toArray}. The digits are
+	 * converted by divide and conquer, since {@code new BigInteger(String)} takes quadratic time.
+	 */
+	private static BigInteger toBigInteger (String str) {
+		
+		byte[] digits = BigMathHelper.toBytes(str);
+		
+		BigMathHelper.checkDigits(digits, 0);
+		
+		return BigMathHelper.toBigInteger(digits, 0, digits.length);
+	}
+	
+	/**
+	 * Converts an operand given as an integer array, which must not be negative.
+	 */
+	private static BigInteger toBigInteger (int[] arr) {
+		
+		BigInteger n = BigMathHelper.toBigInteger(arr);
+		
+		if (n.signum() < 0)
+			throw new IllegalArgumentException("The array must contain only a single digit in each element.");
+		
+		return n;
+	}
+	
+	/**
+	 * Subtracts two parsed operands, applying the same precondition as {@code BigMathSimple.subtract}.
+	 */
+	private static int[] subtract (BigInteger n1, BigInteger n2) {
+		
+		if ((n1.signum() == 0) != (n2.signum() == 0))
+			throw new IllegalArgumentException("Both integers must be zero if either is zero.");
+		
+		return BigMathHelper.fromBigInteger(n1.subtract(n2));
+	}
+
+}
@@ -1,7 +1,11 @@
 package fastBigMath;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * This class contains a series of methods capable of performing advanced arithmetic operations on integers 
@@ -15,6 +19,9 @@ import java.util.List;
 
 public class BigMathAdvanced {
 	
+	// Ranges with at most this many operands are combined sequentially rather than forked
+	private static final int PARALLEL_THRESHOLD = 16;
+	
 	/**
 	 * Computes the exponentiation of a positive integer base raised to a positive integer exponent. 
 	 * The base may be arbitrarily large, however the exponent is restricted to a max value of 
@@ -74,5 +81,404 @@ public class BigMathAdvanced {
 		return null;
 		
 	}
+	
+	/**
+	 * Computes the <i>n</i>th Fibonacci number F(<i>n</i>), where F(0) = 0 and F(1) = 1. 
+	 * The number is computed by fast doubling, using the identities F(2<i>k</i>) = F(<i>k</i>)(2F(<i>k</i>+1) - F(<i>k</i>))
+	 * and F(2<i>k</i>+1) = F(<i>k</i>)<sup>2</sup> + F(<i>k</i>+1)<sup>2</sup>, which requires O(log <i>n</i>) 
+	 * multiplications.
+	 * 
+	 * @param n the index of the Fibonacci number, represented by an {@code int}.
+	 * @return an integer array containing the digits of F(<i>n</i>) in order.
+	 * @throws IllegalArgumentException If {@code n} is negative
+	 */
+	public static int[] fibonacci (int n) {
+		
+		if (n < 0)
+			throw new IllegalArgumentException("The index must not be negative.");
+		
+		if (n == 0) {
+			int[] fibZero = {0};
+			return fibZero;
+		}
+		
+		return fibonacciPair(n)[0];
+		
+	}
+	
+	/**
+	 * Computes the <i>n</i>th Lucas number L(<i>n</i>), where L(0) = 2 and L(1) = 1. The number is
+	 * obtained from the Fibonacci numbers as L(<i>n</i>) = 2F(<i>n</i>+1) - F(<i>n</i>), which are 
+	 * computed by fast doubling as in {@link #fibonacci(int)}.
+	 * 
+	 * @param n the index of the Lucas number, represented by an {@code int}.
+	 * @return an integer array containing the digits of L(<i>n</i>) in order.
+	 * @throws IllegalArgumentException If {@code n} is negative
+	 */
+	public static int[] lucas (int n) {
+		
+		if (n < 0)
+			throw new IllegalArgumentException("The index must not be negative.");
+		
+		if (n == 0) {
+			int[] lucasZero = {2};
+			return lucasZero;
+		}
+		
+		int[][] fib = fibonacciPair(n);
+		
+		return BigMathSimple.subtract(BigMathSimple.add(fib[1], fib[1]), fib[0]);
+		
+	}
+	
+	/**
+	 * Computes the binomial coefficient C(<i>n</i>, <i>k</i>), the number of ways of choosing <i>k</i> 
+	 * elements out of <i>n</i>. No division is carried out: the exponent of each prime <i>p</i> &lt;= <i>n</i>
+	 * in C(<i>n</i>, <i>k</i>) is counted with Legendre's formula, and the resulting prime powers are 
+	 * multiplied together with {@link #productOf(Collection)}.
+	 * 
+	 * @param n the number of elements, represented by an {@code int}.
+	 * @param k the number of elements chosen, represented by an {@code int}.
+	 * @return an integer array containing the digits of C(<i>n</i>, <i>k</i>) in order, or {0} if 
+	 * <i>k</i> &gt; <i>n</i>.
+	 * @throws IllegalArgumentException If {@code n} or {@code k} is negative, or {@code n} is 2<sup>31</sup>-1
+	 */
+	public static int[] binomial (int n, int k) {
+		
+		if (n < 0 || k < 0)
+			throw new IllegalArgumentException("The number of elements and the number chosen must not be negative.");
+		
+		// The sieve of primes up to n must be indexable by an int
+		if (n == Integer.MAX_VALUE)
+			throw new IllegalArgumentException("The number of elements must be less than 2^31-1.");
+		
+		if (k > n) {
+			int[] binomialZero = {0};
+			return binomialZero;
+		}
+		
+		int[] parts = {k, n-k};
+		
+		return primePowerProduct(n, parts);
+		
+	}
+	
+	/**
+	 * Computes the multinomial coefficient (<i>k</i><sub>1</sub> + ... + <i>k</i><sub>m</sub>)! / 
+	 * (<i>k</i><sub>1</sub>! ... <i>k</i><sub>m</sub>!), the number of ways of dividing <i>n</i> = 
+	 * <i>k</i><sub>1</sub> + ... + <i>k</i><sub>m</sub> elements into groups of the given sizes. As in 
+	 * {@link #binomial(int, int)}, the coefficient is assembled from its prime factorization, so no 
+	 * division is carried out.
+	 * 
+	 * @param parts the sizes of the groups, each represented by an {@code int}.
+	 * @return an integer array containing the digits of the calculated multinomial coefficient in order.
+	 * @throws IllegalArgumentException If {@code parts} is null, any part is negative, or the sum of 
+	 * the parts is not less than 2<sup>31</sup>-1
+	 */
+	public static int[] multinomial (int... parts) {
+		
+		if (parts == null)
+			throw new IllegalArgumentException("The parts must not be null.");
+		
+		long n = 0;
+		
+		for (int part : parts) {
+			
+			if (part < 0)
+				throw new IllegalArgumentException("The parts must not be negative.");
+			
+			n += part;
+		}
+		
+		// The sieve of primes up to n must be indexable by an int
+		if (n >= Integer.MAX_VALUE)
+			throw new IllegalArgumentException("The sum of the parts must be less than 2^31-1.");
+		
+		return primePowerProduct((int) n, parts);
+		
+	}
+	
+	/**
+	 * Computes the product of a collection of arbitrarily large positive integers. Rather than 
+	 * multiplying the factors one after another, the product is computed as a balanced binary tree
+	 * of multiplications, so that the two factors of each multiplication are of similar size. 
+	 * Independent subtrees are evaluated in parallel on the common {@code ForkJoinPool}.
+	 * 
+	 * @param factors the factors, each represented by a {@code String}.
+	 * @return an integer array containing the digits of the calculated product in order, 
+	 * or {1} if {@code factors} is empty.
+	 * @throws IllegalArgumentException If {@code factors} is null or any factor is not a valid integer
+	 */
+	public static int[] productOf (Collection<String> factors) {
+		
+		return treeOf(factors, true, "1");
+		
+	}
+	
+	/**
+	 * Computes the product of a sequence of arbitrarily large positive integers, consuming the factors 
+	 * one at a time. The product is computed as a balanced binary tree of multiplications as in 
+	 * {@link #productOf(Collection)}, while holding only a logarithmic number of partial products in memory.
+	 * 
+	 * @param factors an iterator over the factors, each represented by a {@code String}.
+	 * @return an integer array containing the digits of the calculated product in order, 
+	 * or {1} if {@code factors} is empty.
+	 * @throws IllegalArgumentException If {@code factors} is null or any factor is not a valid integer
+	 */
+	public static int[] productOf (Iterator<String> factors) {
+		
+		return treeOf(factors, true, "1");
+		
+	}
+	
+	/**
+	 * Computes the sum of a collection of arbitrarily large positive integers. The sum is computed 
+	 * as a balanced binary tree of additions, with independent subtrees evaluated in parallel on the 
+	 * common {@code ForkJoinPool}.
+	 * 
+	 * @param summands the summands, each represented by a {@code String}.
+	 * @return an integer array containing the digits of the calculated sum in order, 
+	 * or {0} if {@code summands} is empty.
+	 * @throws IllegalArgumentException If {@code summands} is null or any summand is not a valid integer
+	 */
+	public static int[] sumOf (Collection<String> summands) {
+		
+		return treeOf(summands, false, "0");
+		
+	}
+	
+	/**
+	 * Computes the sum of a sequence of arbitrarily large positive integers, consuming the summands
+	 * one at a time. The sum is computed as a balanced binary tree of additions as in
+	 * {@link #sumOf(Collection)}, while holding only a logarithmic number of partial sums in memory.
+	 * 
+	 * @param summands an iterator over the summands, each represented by a {@code String}.
+	 * @return an integer array containing the digits of the calculated sum in order, 
+	 * or {0} if {@code summands} is empty.
+	 * @throws IllegalArgumentException If {@code summands} is null or any summand is not a valid integer
+	 */
+	public static int[] sumOf (Iterator<String> summands) {
+		
+		return treeOf(summands, false, "0");
+		
+	}
+	
+	/**
+	 * Computes {F(n), F(n+1)} for n &gt;= 1 by fast doubling, walking the bits of n from the most
+	 * significant. Starting from {F(1), F(2)} ensures that no operand is ever zero. The values are
+	 * kept as integer arrays, so that no step converts them to {@code String}s.
+	 */
+	private static int[][] fibonacciPair (int n) {
+		
+		int[] a = {1};
+		int[] b = {1};
+		
+		for (int bit = 30 - Integer.numberOfLeadingZeros(n); bit >= 0; bit--) {
+			
+			// F(2k) = F(k)(2F(k+1) - F(k))
+			int[] c = BigMathSimple.multiply(a, BigMathSimple.subtract(BigMathSimple.add(b, b), a));
+			
+			// F(2k+1) = F(k)^2 + F(k+1)^2
+			int[] d = BigMathSimple.add(BigMathSimple.multiply(a, a), BigMathSimple.multiply(b, b));
+			
+			if (((n >>> bit) & 1) == 0) {
+				a = c;
+				b = d;
+			} else {
+				a = d;
+				b = BigMathSimple.add(c, d);
+			}
+		}
+		
+		int[][] pair = {a, b};
+		
+		return pair;
+	}
+	
+	/**
+	 * Computes n! / (parts[0]! ... parts[m-1]!), where the parts sum to at most n, as a product of prime powers.
+	 * The exponent of each prime p &lt;= n is v_p(n!) - sum v_p(parts[i]!), by Legendre's formula. Primes are 
+	 * packed into factors below 10^18 before being multiplied together with a product tree. Requires 
+	 * n &lt; 2^31-1, so that the sieve size n+1 and the loop index p cannot overflow.
+	 */
+	private static int[] primePowerProduct (int n, int[] parts) {
+		
+		final long limit = 1000000000000000000L;
+		
+		boolean[] composite = new boolean[n+1];
+		List<String> factors = new ArrayList<String>();
+		long acc = 1;
+		
+		for (int p=2; p<=n; p++) {
+			
+			if (composite[p])
+				continue;
+			
+			for (long mult = (long) p*p; mult <= n; mult += p) {
+				composite[(int) mult] = true;
+			}
+			
+			long e = legendre(n, p);
+			
+			for (int part : parts) {
+				e -= legendre(part, p);
+			}
+			
+			for (long i=0; i<e; i++) {
+				
+				if (acc > limit / p) {
+					factors.add(Long.toString(acc));
+					acc = 1;
+				}
+				
+				acc *= p;
+			}
+		}
+		
+		if (acc > 1 || factors.isEmpty())
+			factors.add(Long.toString(acc));
+		
+		return productOf(factors);
+	}
+	
+	/**
+	 * Computes the exponent of the prime p in m!, that is the sum of floor(m / p^i) over i &gt;= 1.
+	 */
+	private static long legendre (int m, int p) {
+		
+		long e = 0;
+		
+		for (long pow = p; pow <= m; pow *= p) {
+			e += m / pow;
+		}
+		
+		return e;
+	}
+	
+	private static int[] treeOf (Collection<String> operands, boolean product, String identity) {
+		
+		if (operands == null)
+			throw new IllegalArgumentException("The collection must not be null.");
+		
+		String[] opers = operands.toArray(new String[operands.size()]);
+		
+		if (opers.length == 0)
+			return BigMathHelper.toArray(identity);
+		
+		return ForkJoinPool.commonPool().invoke(new TreeTask(opers, 0, opers.length, product));
+		
+	}
+	
+	private static int[] treeOf (Iterator<String> operands, boolean product, String identity) {
+		
+		if (operands == null)
+			throw new IllegalArgumentException("The iterator must not be null.");
+		
+		/*
+		 * Combine the operands like a binary counter: levels[i] holds the combination of 2^i 
+		 * consecutive operands, or null. Each new operand is merged upwards with the full levels
+		 * below the first empty one, so that only operands of similar size are ever combined.
+		 */
+		List<int[]> levels = new ArrayList<int[]>();
+		
+		while (operands.hasNext()) {
+			
+			int[] carry = normalize(operands.next());
+			int i = 0;
+			
+			while (i < levels.size() && levels.get(i) != null) {
+				carry = combine(levels.get(i), carry, product);
+				levels.set(i, null);
+				i++;
+			}
+			
+			if (i == levels.size()) {
+				levels.add(carry);
+			} else {
+				levels.set(i, carry);
+			}
+		}
+		
+		// Combine the remaining partial results from the smallest to the largest
+		int[] result = null;
+		
+		for (int[] level : levels) {
+			
+			if (level != null)
+				result = (result == null) ? level : combine(level, result, product);
+			
+		}
+		
+		return result == null ? BigMathHelper.toArray(identity) : result;
+		
+	}
+	
+	/**
+	 * Multiplies or adds two partial results, which are kept as integer arrays so that they are not
+	 * converted to {@code String}s between the levels of the tree.
+	 */
+	private static int[] combine (int[] oper1, int[] oper2, boolean product) {
+		
+		return product ? BigMathSimple.multiply(oper1, oper2) : BigMathSimple.add(oper1, oper2);
+		
+	}
+	
+	private static int[] normalize (String oper) {
+		
+		int[] arr = BigMathHelper.removePaddedZeroes(BigMathHelper.toArray(oper));
+		
+		if (arr.length == 0) {
+			int[] arrZero = {0};
+			return arrZero;
+		}
+		
+		return arr;
+		
+	}
+	
+	/**
+	 * Combines the operands in the range [lo, hi) as a balanced binary tree, forking the two halves
+	 * of ranges above {@code PARALLEL_THRESHOLD}.
+	 */
+	@SuppressWarnings("serial")
+	private static class TreeTask extends RecursiveTask<int[]> {
+		
+		private final String[] opers;
+		private final int lo;
+		private final int hi;
+		private final boolean product;
+		
+		TreeTask (String[] opers, int lo, int hi, boolean product) {
+			this.opers = opers;
+			this.lo = lo;
+			this.hi = hi;
+			this.product = product;
+		}
+		
+		@Override
+		protected int[] compute () {
+			
+			if (hi-lo <= PARALLEL_THRESHOLD)
+				return combineRange(lo, hi);
+			
+			int mid = (lo+hi) >>> 1;
+			TreeTask left = new TreeTask(opers, lo, mid, product);
+			left.fork();
+			int[] right = new TreeTask(opers, mid, hi, product).compute();
+			
+			return combine(left.join(), right, product);
+		}
+		
+		private int[] combineRange (int from, int to) {
+			
+			if (to-from == 1)
+				return normalize(opers[from]);
+			
+			int mid = (from+to) >>> 1;
+			
+			return combine(combineRange(from, mid), combineRange(mid, to), product);
+		}
+		
+	}
 
 }
@@ -0,0 +1,113 @@
+package fastBigMath;
+
+/**
+ * A service-provider interface for the engines which carry out the operations defined in the class
+ * {@code BigMathSimple}. Implementations take their operands as {@code String}s and return their
+ * results as integer arrays in the same format as {@code BigMathSimple}, that is with a single digit
+ * in each element and a negative sign element of -1 at the beginning of the array if the result is negative.
+ * <p>
+ * Backends are registered with {@code BigMathDispatch}, which selects one per operation
+ * according to the size of the operands. Implementations should reject the same operands as 
+ * {@code BigMathSimple} with an {@code IllegalArgumentException}, so that switching backends does not
+ * change the behaviour seen by callers. The remaining differences between the supplied backends are:
+ * <ul>
+ * <li>{@code BigIntegerBackend} returns the correct quotient for some operands on which the
+ * digit array {@code divide} fails with an {@code ArrayIndexOutOfBoundsException}.</li>
+ * <li>{@code DigitArrayBackend} returns 1 when dividing zero by zero, whereas {@code BigIntegerBackend}
+ * rejects every zero divisor.</li>
+ * </ul>
+ */
+
+public interface BigMathBackend {
+	
+	/**
+	 * Computes the arithmetic sum of two arbitrarily large positive integers.
+	 * 
+	 * @param sum1 the first summand, represented by a {@code String}.
+	 * @param sum2 the second summand, represented by a {@code String}.
+	 * @return an integer array containing the digits of the calculated sum in order.
+	 * @see BigMathSimple#add(String, String)
+	 */
+	int[] add (String sum1, String sum2);
+	
+	/**
+	 * Computes the arithmetic difference of two arbitrarily large positive integers.
+	 * 
+	 * @param min the minuend, represented by a {@code String}.
+	 * @param sub the subtrahend, represented by a {@code String}.
+	 * @return an integer array containing the digits of the calculated difference in order, along with
+	 * a negative sign element at the beginning of the array if the difference is negative.
+	 * @see BigMathSimple#subtract(String, String)
+	 */
+	int[] subtract (String min, String sub);
+	
+	/**
+	 * Computes the arithmetic product of two arbitrarily large positive integers.
+	 * 
+	 * @param fact1 the first factor, represented by a {@code String}.
+	 * @param fact2 the second factor, represented by a {@code String}.
+	 * @return an integer array containing the digits of the calculated product in order.
+	 * @see BigMathSimple#multiply(String, String)
+	 */
+	int[] multiply (String fact1, String fact2);
+	
+	/**
+	 * Computes the truncated arithmetic quotient of two arbitrarily large positive integers.
+	 * 
+	 * @param divid the dividend, represented by a {@code String}.
+	 * @param div the divisor, represented by a {@code String}.
+	 * @return an integer array containing the digits of the calculated quotient in order.
+	 * @see BigMathSimple#divide(String, String)
+	 */
+	int[] divide (String divid, String div);
+	
+	/**
+	 * Computes the arithmetic modulus of two arbitrarily large positive integers.
+	 * 
+	 * @param divid the dividend, represented by a {@code String}.
+	 * @param div the divisor, represented by a {@code String}.
+	 * @return an integer array containing the digits of the calculated division remainder in order.
+	 * @see BigMathSimple#modulate(String, String)
+	 */
+	int[] modulate (String divid, String div);
+	
+	/**
+	 * Computes the arithmetic sum of two non-negative integers given as integer arrays, which may have
+	 * leading zeroes. This serves chains of operations within the library, whose intermediate results
+	 * are already integer arrays. The default implementation converts the operands to {@code String}s and
+	 * calls {@link #add(String, String)}; backends which can read the digits directly should override it.
+	 * 
+	 * @param sum1 the first summand, represented by an integer array.
+	 * @param sum2 the second summand, represented by an integer array.
+	 * @return an integer array containing the digits of the calculated sum in order.
+	 */
+	default int[] add (int[] sum1, int[] sum2) {
+		return add(BigMathHelper.toString(sum1), BigMathHelper.toString(sum2));
+	}
+	
+	/**
+	 * Computes the arithmetic difference of two non-negative integers given as integer arrays, which may
+	 * have leading zeroes. See {@link #add(int[], int[])}.
+	 * 
+	 * @param min the minuend, represented by an integer array.
+	 * @param sub the subtrahend, represented by an integer array.
+	 * @return an integer array containing the digits of the calculated difference in order, along with
+	 * a negative sign element at the beginning of the array if the difference is negative.
+	 */
+	default int[] subtract (int[] min, int[] sub) {
+		return subtract(BigMathHelper.toString(min), BigMathHelper.toString(sub));
+	}
+	
+	/**
+	 * Computes the arithmetic product of two non-negative integers given as integer arrays, which may
+	 * have leading zeroes. See {@link #add(int[], int[])}.
+	 * 
+	 * @param fact1 the first factor, represented by an integer array.
+	 * @param fact2 the second factor, represented by an integer array.
+	 * @return an integer array containing the digits of the calculated product in order.
+	 */
+	default int[] multiply (int[] fact1, int[] fact2) {
+		return multiply(BigMathHelper.toString(fact1), BigMathHelper.toString(fact2));
+	}
+
+}
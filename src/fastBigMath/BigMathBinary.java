@@ -0,0 +1,349 @@
+package fastBigMath;
+
+import java.util.Arrays;
+
+/**
+ * This class represents an arbitrarily large non-negative integer in base 2<sup>32</sup>, providing the binary
+ * operations which are impractical on the decimal representation used by {@code BigMathSimple}: shifts, 
+ * bit length, bit tests and the bitwise logical operations. Each of these runs in time linear in the number 
+ * of 32-bit words, so that multiplying or dividing by a power of two is a matter of moving words rather 
+ * than carrying out decimal arithmetic.
+ * <p>
+ * The decimal operand is converted to binary once, when the {@code BigMathBinary} is created. The conversion
+ * back to decimal is only carried out when {@link #toString()} or {@link #toArray()} is first called, and its 
+ * result is kept, so that chains of binary operations never pass through decimal. Instances are immutable.
+ */
+
+public final class BigMathBinary {
+	
+	private static final long MASK = 0xFFFFFFFFL;
+	
+	// The largest power of ten which fits in a 32-bit word, and its number of zeroes
+	private static final long DECIMAL_BASE = 1000000000L;
+	private static final int DECIMAL_BASE_DIGITS = 9;
+	
+	// The 32-bit words of the magnitude, least significant first, without leading zero words
+	private final int[] mag;
+	
+	// The decimal representation, computed on first use
+	private String decimal;
+	
+	/**
+	 * Creates the binary representation of an arbitrarily large non-negative integer.
+	 * 
+	 * @param n the integer, represented by a {@code String}.
+	 * @throws IllegalArgumentException If the {@code String} representing the integer parameter
+	 * contains anything but the numeric characters from 0-9, or is null or of length 0
+	 */
+	public BigMathBinary (String n) {
+		this(BigMathHelper.toArray(n));
+	}
+	
+	/**
+	 * Creates the binary representation of an arbitrarily large non-negative integer.
+	 * 
+	 * @param arr the integer represented by an integer array.
+	 * @throws IllegalArgumentException If the {@code int[]} representing the integer parameter
+	 * contains more than a single digit in each element, or is null or of length 0
+	 */
+	public BigMathBinary (int[] arr) {
+		
+		if (arr == null || arr.length == 0){
+			throw new IllegalArgumentException("The array must contain at least one element and not be null.");
+		}
+		
+		// The number of words is at most ceil(digits * log_2(10) / 32) + 1
+		int[] words = new int[(int) ((long) arr.length * 3402 / 1024 / 32) + 2];
+		int size = 0;
+		
+		// Accumulate the digits nine at a time, as words = words * 10^k + chunk
+		int first = arr.length % DECIMAL_BASE_DIGITS == 0 ? DECIMAL_BASE_DIGITS : arr.length % DECIMAL_BASE_DIGITS;
+		
+		for (int pos=0; pos<arr.length; ) {
+			
+			int len = (pos == 0) ? first : DECIMAL_BASE_DIGITS;
+			long mul = 1;
+			long chunk = 0;
+			
+			for (int k=0; k<len; k++) {
+				
+				int digit = arr[pos+k];
+				
+				if (!(digit >= 0 && digit <= 9))
+					throw new IllegalArgumentException("The array must contain only a single digit in each element.");
+				
+				chunk = chunk*10 + digit;
+				mul *= 10;
+			}
+			
+			long carry = chunk;
+			
+			for (int i=0; i<size; i++) {
+				long p = (words[i] & MASK) * mul + carry;
+				words[i] = (int) p;
+				carry = p >>> 32;
+			}
+			
+			if (carry != 0)
+				words[size++] = (int) carry;
+			
+			pos += len;
+		}
+		
+		this.mag = Arrays.copyOf(words, size);
+	}
+	
+	private BigMathBinary (int[] words, int size) {
+		this.mag = (size == words.length) ? words : Arrays.copyOf(words, size);
+	}
+	
+	/**
+	 * Creates an integer from its words, least significant first, dropping any leading zero words.
+	 */
+	private static BigMathBinary trim (int[] words) {
+		
+		int size = words.length;
+		
+		while (size > 0 && words[size-1] == 0) {
+			size--;
+		}
+		
+		return new BigMathBinary(words, size);
+	}
+	
+	/**
+	 * Computes this integer multiplied by 2<sup>{@code n}</sup> (ie. this &lt;&lt; {@code n}).
+	 * 
+	 * @param n the number of bits to shift by.
+	 * @return the shifted integer.
+	 * @throws IllegalArgumentException If {@code n} is negative
+	 */
+	public BigMathBinary shiftLeft (int n) {
+		
+		if (n < 0)
+			throw new IllegalArgumentException("The shift distance must not be negative.");
+		
+		if (mag.length == 0 || n == 0)
+			return this;
+		
+		int wordShift = n >>> 5;
+		int bitShift = n & 31;
+		int[] words = new int[mag.length + wordShift + 1];
+		
+		if (bitShift == 0) {
+			System.arraycopy(mag, 0, words, wordShift, mag.length);
+		} else {
+			for (int i=0; i<mag.length; i++) {
+				words[i+wordShift] |= mag[i] << bitShift;
+				words[i+wordShift+1] = mag[i] >>> (32-bitShift);
+			}
+		}
+		
+		return trim(words);
+	}
+	
+	/**
+	 * Computes this integer divided by 2<sup>{@code n}</sup>, truncating the fractional component 
+	 * (ie. this &gt;&gt; {@code n}).
+	 * 
+	 * @param n the number of bits to shift by.
+	 * @return the shifted integer.
+	 * @throws IllegalArgumentException If {@code n} is negative
+	 */
+	public BigMathBinary shiftRight (int n) {
+		
+		if (n < 0)
+			throw new IllegalArgumentException("The shift distance must not be negative.");
+		
+		if (n == 0)
+			return this;
+		
+		int wordShift = n >>> 5;
+		int bitShift = n & 31;
+		
+		if (wordShift >= mag.length)
+			return trim(new int[0]);
+		
+		int[] words = new int[mag.length - wordShift];
+		
+		if (bitShift == 0) {
+			System.arraycopy(mag, wordShift, words, 0, words.length);
+		} else {
+			for (int i=0; i<words.length; i++) {
+				words[i] = mag[i+wordShift] >>> bitShift;
+				
+				if (i+wordShift+1 < mag.length)
+					words[i] |= mag[i+wordShift+1] << (32-bitShift);
+			}
+		}
+		
+		return trim(words);
+	}
+	
+	/**
+	 * Computes the number of bits in the binary representation of this integer, excluding leading zeroes.
+	 * 
+	 * @return the bit length of this integer, or 0 if it is zero.
+	 */
+	public int bitLength () {
+		
+		if (mag.length == 0)
+			return 0;
+		
+		return 32*mag.length - Integer.numberOfLeadingZeros(mag[mag.length-1]);
+	}
+	
+	/**
+	 * Checks if a bit of this integer is set.
+	 * 
+	 * @param n the index of the bit, where 0 is the least significant bit.
+	 * @return {@code true} - If bit {@code n} is 1 <br> {@code false} - If bit {@code n} is 0
+	 * @throws IllegalArgumentException If {@code n} is negative
+	 */
+	public boolean testBit (int n) {
+		
+		if (n < 0)
+			throw new IllegalArgumentException("The bit index must not be negative.");
+		
+		int word = n >>> 5;
+		
+		return word < mag.length && ((mag[word] >>> (n & 31)) & 1) != 0;
+	}
+	
+	/**
+	 * Computes the bitwise AND of this integer and another (ie. this &amp; {@code other}).
+	 * 
+	 * @param other the second operand.
+	 * @return the bitwise AND of the two integers.
+	 */
+	public BigMathBinary and (BigMathBinary other) {
+		
+		int[] words = new int[Math.min(mag.length, other.mag.length)];
+		
+		for (int i=0; i<words.length; i++) {
+			words[i] = mag[i] & other.mag[i];
+		}
+		
+		return trim(words);
+	}
+	
+	/**
+	 * Computes the bitwise inclusive OR of this integer and another (ie. this | {@code other}).
+	 * 
+	 * @param other the second operand.
+	 * @return the bitwise OR of the two integers.
+	 */
+	public BigMathBinary or (BigMathBinary other) {
+		
+		int[] words = Arrays.copyOf(mag, Math.max(mag.length, other.mag.length));
+		
+		for (int i=0; i<other.mag.length; i++) {
+			words[i] |= other.mag[i];
+		}
+		
+		return trim(words);
+	}
+	
+	/**
+	 * Computes the bitwise exclusive OR of this integer and another (ie. this ^ {@code other}).
+	 * 
+	 * @param other the second operand.
+	 * @return the bitwise XOR of the two integers.
+	 */
+	public BigMathBinary xor (BigMathBinary other) {
+		
+		int[] words = Arrays.copyOf(mag, Math.max(mag.length, other.mag.length));
+		
+		for (int i=0; i<other.mag.length; i++) {
+			words[i] ^= other.mag[i];
+		}
+		
+		return trim(words);
+	}
+	
+	/**
+	 * Converts this integer to an integer array. Each element in the array contains a single digit.
+	 * 
+	 * @return an integer array containing the decimal digits of this integer in order.
+	 */
+	public int[] toArray () {
+		return BigMathHelper.toArray(toString());
+	}
+	
+	/**
+	 * Converts this integer to its decimal representation. The conversion is carried out on the 
+	 * first call only.
+	 * 
+	 * @return a {@code String} representing this integer in decimal.
+	 */
+	@Override
+	public String toString () {
+		
+		String str = decimal;
+		
+		if (str == null) {
+			str = toDecimal();
+			decimal = str;
+		}
+		
+		return str;
+	}
+	
+	@Override
+	public boolean equals (Object obj) {
+		return obj instanceof BigMathBinary && Arrays.equals(mag, ((BigMathBinary) obj).mag);
+	}
+	
+	@Override
+	public int hashCode () {
+		return Arrays.hashCode(mag);
+	}
+	
+	/**
+	 * Converts the magnitude to decimal by repeated division by 10^9, each remainder giving nine digits.
+	 */
+	private String toDecimal () {
+		
+		if (mag.length == 0)
+			return "0";
+		
+		int[] words = mag.clone();
+		int size = words.length;
+		int[] chunks = new int[size*32/29 + 1];
+		int numChunks = 0;
+		
+		while (size > 0) {
+			
+			long rem = 0;
+			
+			for (int i=size-1; i>=0; i--) {
+				long cur = (rem << 32) | (words[i] & MASK);
+				words[i] = (int) (cur / DECIMAL_BASE);
+				rem = cur % DECIMAL_BASE;
+			}
+			
+			chunks[numChunks++] = (int) rem;
+			
+			while (size > 0 && words[size-1] == 0) {
+				size--;
+			}
+		}
+		
+		// The most significant chunk is written without leading zeroes, and every other chunk is padded to nine digits
+		StringBuilder sb = new StringBuilder(numChunks*DECIMAL_BASE_DIGITS);
+		sb.append(chunks[numChunks-1]);
+		
+		for (int i=numChunks-2; i>=0; i--) {
+			String chunk = Integer.toString(chunks[i]);
+			
+			for (int k=chunk.length(); k<DECIMAL_BASE_DIGITS; k++) {
+				sb.append('0');
+			}
+			
+			sb.append(chunk);
+		}
+		
+		return sb.toString();
+	}
+
+}
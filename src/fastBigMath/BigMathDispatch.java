@@ -0,0 +1,205 @@
+package fastBigMath;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * This class holds the dispatch tables which decide the {@code BigMathBackend} used by each operation
+ * of {@code BigMathSimple}. Every operation has its own table, mapping a minimum operand size (the number
+ * of digits in the longer operand) to the backend used from that size upwards. Initially every table maps
+ * all sizes to a {@code DigitArrayBackend}.
+ * <p>
+ * The tables may be edited directly with {@link #register(Operation, int, BigMathBackend)}, or tuned
+ * by timing a set of candidate backends with {@link #calibrate(Operation, int[], BigMathBackend...)}.
+ * The tables are safe to read and edit from multiple threads.
+ */
+
+public class BigMathDispatch {
+	
+	/**
+	 * The operations which may be dispatched to a {@code BigMathBackend}.
+	 */
+	public enum Operation {
+		ADD, SUBTRACT, MULTIPLY, DIVIDE, MODULATE
+	}
+	
+	// The number of timed runs per candidate and size during calibration, of which the fastest is kept
+	private static final int CALIBRATION_RUNS = 5;
+	
+	// The seed of the random operands used during calibration, fixed so that calibration runs are repeatable
+	private static final long CALIBRATION_SEED = 0x5EEDL;
+	
+	private static final Map<Operation, ConcurrentSkipListMap<Integer, BigMathBackend>> tables = 
+			new EnumMap<Operation, ConcurrentSkipListMap<Integer, BigMathBackend>>(Operation.class);
+	
+	static {
+		for (Operation op : Operation.values()) {
+			tables.put(op, new ConcurrentSkipListMap<Integer, BigMathBackend>());
+		}
+		reset();
+	}
+	
+	/**
+	 * Restores the default dispatch tables, in which every operation is carried out by a 
+	 * {@code DigitArrayBackend} for operands of all sizes.
+	 */
+	public static void reset () {
+		
+		BigMathBackend defaultBackend = new DigitArrayBackend();
+		
+		for (Operation op : Operation.values()) {
+			ConcurrentSkipListMap<Integer, BigMathBackend> table = tables.get(op);
+			table.put(0, defaultBackend);
+			table.tailMap(0, false).clear();
+		}
+	}
+	
+	/**
+	 * Registers a backend to carry out an operation for all operands whose longer operand has at
+	 * least {@code minDigits} digits, up to the next size registered for the same operation.
+	 * 
+	 * @param op the operation.
+	 * @param minDigits the smallest operand size, in digits, handled by the backend.
+	 * @param backend the backend.
+	 * @throws IllegalArgumentException If {@code op} or {@code backend} is {@code null}, 
+	 * or {@code minDigits} is negative
+	 */
+	public static void register (Operation op, int minDigits, BigMathBackend backend) {
+		
+		if (op == null || backend == null || minDigits < 0)
+			throw new IllegalArgumentException("The operation and backend must not be null and the size must not be negative.");
+		
+		tables.get(op).put(minDigits, backend);
+	}
+	
+	/**
+	 * Returns the backend registered to carry out an operation on operands of the given lengths.
+	 * 
+	 * @param op the operation.
+	 * @param oper1 the first operand, represented by a {@code String}.
+	 * @param oper2 the second operand, represented by a {@code String}.
+	 * @return the backend which carries out {@code op} on {@code oper1} and {@code oper2}.
+	 */
+	public static BigMathBackend select (Operation op, String oper1, String oper2) {
+		
+		int digits = Math.max(oper1 == null ? 0 : oper1.length(), oper2 == null ? 0 : oper2.length());
+		
+		return tables.get(op).floorEntry(digits).getValue();
+	}
+	
+	/**
+	 * Returns the backend registered to carry out an operation on operands of the given lengths, given
+	 * as integer arrays.
+	 * 
+	 * @param op the operation.
+	 * @param oper1 the first operand, represented by an integer array.
+	 * @param oper2 the second operand, represented by an integer array.
+	 * @return the backend which carries out {@code op} on {@code oper1} and {@code oper2}.
+	 */
+	public static BigMathBackend select (Operation op, int[] oper1, int[] oper2) {
+		
+		int digits = Math.max(oper1 == null ? 0 : oper1.length, oper2 == null ? 0 : oper2.length);
+		
+		return tables.get(op).floorEntry(digits).getValue();
+	}
+	
+	/**
+	 * Tunes the dispatch table of an operation by timing each candidate backend on random operands of the
+	 * given sizes. The table is replaced so that the fastest candidate at each size is used from that size up 
+	 * to the next, and the fastest candidate at the smallest size is also used for all smaller operands.
+	 * <p>
+	 * For {@code DIVIDE} and {@code MODULATE} the divisor is chosen one digit shorter than the dividend,
+	 * so that candidates which search for the quotient digit by digit finish in reasonable time.
+	 * 
+	 * @param op the operation.
+	 * @param sizes the operand sizes to be timed, in digits.
+	 * @param candidates the candidate backends.
+	 * @throws IllegalArgumentException If {@code op} is {@code null}, no sizes or candidates are given, 
+	 * or a size is smaller than 1
+	 */
+	public static void calibrate (Operation op, int[] sizes, BigMathBackend... candidates) {
+		
+		if (op == null || sizes == null || sizes.length == 0 || candidates == null || candidates.length == 0)
+			throw new IllegalArgumentException("The operation, sizes and candidates must not be null or empty.");
+		
+		int[] sorted = sizes.clone();
+		Arrays.sort(sorted);
+		
+		if (sorted[0] < 1)
+			throw new IllegalArgumentException("The sizes must be at least 1 digit.");
+		
+		Random random = new Random(CALIBRATION_SEED);
+		ConcurrentSkipListMap<Integer, BigMathBackend> table = new ConcurrentSkipListMap<Integer, BigMathBackend>();
+		BigMathBackend previous = null;
+		
+		for (int i=0; i<sorted.length; i++) {
+			
+			String oper1 = randomOperand(random, sorted[i]);
+			String oper2 = (op == Operation.DIVIDE || op == Operation.MODULATE) ? 
+					randomOperand(random, Math.max(1, sorted[i]-1)) : randomOperand(random, sorted[i]);
+			
+			BigMathBackend fastest = null;
+			long fastestTime = Long.MAX_VALUE;
+			
+			for (BigMathBackend candidate : candidates) {
+				
+				// The first run is discarded as a warm-up
+				run(op, candidate, oper1, oper2);
+				long best = Long.MAX_VALUE;
+				
+				for (int run=0; run<CALIBRATION_RUNS; run++) {
+					long start = System.nanoTime();
+					run(op, candidate, oper1, oper2);
+					best = Math.min(best, System.nanoTime()-start);
+				}
+				
+				if (best < fastestTime) {
+					fastestTime = best;
+					fastest = candidate;
+				}
+			}
+			
+			// Only record the points at which the fastest backend changes
+			if (fastest != previous) {
+				table.put(i == 0 ? 0 : sorted[i], fastest);
+				previous = fastest;
+			}
+		}
+		
+		ConcurrentSkipListMap<Integer, BigMathBackend> current = tables.get(op);
+		current.putAll(table);
+		current.keySet().retainAll(table.keySet());
+	}
+	
+	private static int[] run (Operation op, BigMathBackend backend, String oper1, String oper2) {
+		
+		switch (op) {
+			case ADD:
+				return backend.add(oper1, oper2);
+			case SUBTRACT:
+				return backend.subtract(oper1, oper2);
+			case MULTIPLY:
+				return backend.multiply(oper1, oper2);
+			case DIVIDE:
+				return backend.divide(oper1, oper2);
+			default:
+				return backend.modulate(oper1, oper2);
+		}
+	}
+	
+	private static String randomOperand (Random random, int digits) {
+		
+		char[] chars = new char[digits];
+		chars[0] = (char) ('1'+random.nextInt(9));
+		
+		for (int i=1; i<digits; i++) {
+			chars[i] = (char) ('0'+random.nextInt(10));
+		}
+		
+		return new String(chars);
+	}
+
+}
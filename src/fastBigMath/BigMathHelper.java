@@ -1,5 +1,9 @@
 package fastBigMath;
 
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
 /**
  * This class contains a series of helper methods which provide subroutines aiding in the calculation
  * of the operations defined in the classes {@code BigMathSimple} and {@code BigMathAdvanced}.
@@ -10,6 +14,11 @@ package fastBigMath;
 
 public class BigMathHelper {
 	
+	// The number of digits which always fit in a long, converted directly at the leaves of the radix conversions
+	private static final int LONG_DIGITS = 18;
+	
+	// tenPowers[j] = 10^(LONG_DIGITS * 2^j), each the square of the one before, grown as larger values are converted
+	private static volatile BigInteger[] tenPowers = {BigInteger.TEN.pow(LONG_DIGITS)};
 	
 	/**
 	 * Checks if two arrays are equal.
@@ -70,6 +79,234 @@ public class BigMathHelper {
 		return true;
 	}
 	
+	/**
+	 * Checks if an integer array represents zero, that is if it is empty or all of its elements are zero.
+	 * 
+	 * @param arr the integer represented by an integer array.
+	 * @return {@code true} - If {@code arr} = 0 <br> {@code false} - If {@code arr} != 0
+	 * @throws IllegalArgumentException If the array is null.
+	 */
+	public static boolean checkIsZero (int[] arr) {
+		
+		if (arr == null)
+			throw new IllegalArgumentException("The array must not be null.");
+		
+		for (int i=0; i<arr.length; i++) {
+			
+			if (arr[i] != 0)
+				return false;
+			
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Compares two integer arrays of the same length in a single pass. The first differing
+	 * element is located with {@code Arrays.mismatch}, which the JVM compiles to a vectorised
+	 * comparison, so no per-digit branching takes place. Each element in the arrays is expected to
+	 * contain a single digit, but unlike {@code checkIsGreaterThan} this is not checked, as checking
+	 * every digit would cost another pass over both arrays.
+	 * 
+	 * @param arr1 the first integer array
+	 * @param arr2 the second integer array
+	 * @return a negative value - If {@code arr1} &lt; {@code arr2} <br> {@code 0} - If {@code arr1} = {@code arr2}
+	 * <br> a positive value - If {@code arr1} &gt; {@code arr2}
+	 * @throws IllegalArgumentException If the integer arrays are not of equal length or at least one is {@code null}
+	 */
+	public static int compare (int[] arr1, int[] arr2) {
+		
+		if (arr1 == null || arr2 == null || arr1.length != arr2.length) {
+			throw new IllegalArgumentException("Both arrays must be of the same length and not be null.");
+		}
+		
+		int i = Arrays.mismatch(arr1, arr2);
+		
+		if (i < 0)
+			return 0;
+		
+		return arr1[i] > arr2[i] ? 1 : -1;
+	}
+	
+	/**
+	 * Computes the digit-wise sum of two integer arrays of the same length. The digits are summed in a
+	 * single pass from the last element to the first, in which each carry is taken from the sign bit of 9 
+	 * less the digit sum rather than by a %10 and /10, so that the loop has no branches. Each element in
+	 * the arrays must contain a single digit.
+	 * 
+	 * @param arr1 the first summand, represented by an integer array
+	 * @param arr2 the second summand, represented by an integer array
+	 * @return an integer array one element longer than the operands containing the digits of the sum
+	 * in order. The first element holds the final carry and may be zero.
+	 * @throws IllegalArgumentException If the integer arrays are not of equal length or at least one is {@code null}
+	 */
+	public static int[] addDigits (int[] arr1, int[] arr2) {
+		
+		if (arr1 == null || arr2 == null || arr1.length != arr2.length) {
+			throw new IllegalArgumentException("Both arrays must be of the same length and not be null.");
+		}
+		
+		int[] sum = new int[arr1.length+1];
+		int carry = 0;
+		
+		for (int i=arr1.length-1; i>=0; i--) {
+			int sumi = arr1[i]+arr2[i]+carry;
+			carry = (9-sumi) >>> 31;
+			sum[i+1] = sumi - 10*carry;
+		}
+		
+		sum[0] = carry;
+		
+		return sum;
+	}
+	
+	/**
+	 * Computes the digit-wise difference of two integer arrays of the same length
+	 * (ie. {@code arr1} - {@code arr2}), where {@code arr1} &gt;= {@code arr2}. As in {@code addDigits},
+	 * the digits are subtracted in a single branch-free pass, in which each borrow is taken from the sign
+	 * bit of the digit difference. Each element in the arrays must contain a single digit.
+	 * 
+	 * @param arr1 the minuend, represented by an integer array
+	 * @param arr2 the subtrahend, represented by an integer array
+	 * @return an integer array of the same length as the operands containing the digits of the difference in order.
+	 * @throws IllegalArgumentException If the integer arrays are not of equal length or at least one is {@code null}
+	 */
+	public static int[] subtractDigits (int[] arr1, int[] arr2) {
+		
+		if (arr1 == null || arr2 == null || arr1.length != arr2.length) {
+			throw new IllegalArgumentException("Both arrays must be of the same length and not be null.");
+		}
+		
+		int[] diff = new int[arr1.length];
+		int borrow = 0;
+		
+		for (int i=arr1.length-1; i>=0; i--) {
+			int diffi = arr1[i]-arr2[i]-borrow;
+			borrow = diffi >>> 31;
+			diff[i] = diffi + 10*borrow;
+		}
+		
+		return diff;
+	}
+	
+	/**
+	 * Returns the characters of an integer represented by a {@code String} as bytes. A numeric {@code String}
+	 * is stored with one byte per character, so this is a plain array copy; any character outside of 
+	 * ISO-8859-1 becomes '?', and is rejected along with every other non-numeric character by 
+	 * {@code checkDigits}.
+	 */
+	static byte[] toBytes (String str) {
+		
+		if (str == null || str.length() == 0)
+			throw new IllegalArgumentException("The String must not be null or be of length 0.");
+		
+		return str.getBytes(StandardCharsets.ISO_8859_1);
+	}
+	
+	/**
+	 * Checks that every byte from index {@code from} onwards is one of the numeric characters from 0-9.
+	 * The check is accumulated with a bitwise OR of the sign bits, so that the loop has no branches.
+	 */
+	static void checkDigits (byte[] bytes, int from) {
+		
+		int invalid = 0;
+		
+		for (int i=from; i<bytes.length; i++) {
+			int digit = bytes[i]-'0';
+			invalid |= digit | (9-digit);
+		}
+		
+		if (invalid < 0)
+			throw new IllegalArgumentException("The String must contain only numeric characters.");
+	}
+	
+	/**
+	 * Computes the sum of two integers given by their numeric characters, as in {@code addDigits} but 
+	 * reading the digits straight from the bytes, rather than first converting the operands to integer 
+	 * arrays and padding the shorter one. The result is one element longer than the longer operand, and 
+	 * may have leading zeroes.
+	 */
+	static int[] addBytes (byte[] bytes1, byte[] bytes2) {
+		
+		if (bytes1.length < bytes2.length) {
+			byte[] tmp = bytes1;
+			bytes1 = bytes2;
+			bytes2 = tmp;
+		}
+		
+		checkDigits(bytes1, 0);
+		checkDigits(bytes2, 0);
+		
+		int n = bytes1.length;
+		int offset = n-bytes2.length;
+		int[] sum = new int[n+1];
+		int carry = 0;
+		
+		for (int j=n-1; j>=offset; j--) {
+			int sumj = bytes1[j]+bytes2[j-offset]-2*'0'+carry;
+			carry = (9-sumj) >>> 31;
+			sum[j+1] = sumj - 10*carry;
+		}
+		
+		// The leading digits of the longer operand have no counterpart in the shorter one
+		for (int j=offset-1; j>=0; j--) {
+			int sumj = bytes1[j]-'0'+carry;
+			carry = (9-sumj) >>> 31;
+			sum[j+1] = sumj - 10*carry;
+		}
+		
+		sum[0] = carry;
+		
+		return sum;
+	}
+	
+	/**
+	 * Computes the difference of two integers given by their numeric characters from the indices
+	 * {@code from1} and {@code from2} onwards, where the first is greater than or equal to the second
+	 * and has at least as many digits. As in {@code addBytes}, the digits are read straight from the
+	 * bytes. The result has as many elements as the first operand, and may have leading zeroes.
+	 */
+	static int[] subtractBytes (byte[] bytes1, int from1, byte[] bytes2, int from2) {
+		
+		checkDigits(bytes1, from1);
+		checkDigits(bytes2, from2);
+		
+		int n = bytes1.length-from1;
+		int offset = n-(bytes2.length-from2);
+		int[] diff = new int[n];
+		int borrow = 0;
+		
+		for (int j=n-1; j>=offset; j--) {
+			int diffj = bytes1[j+from1]-bytes2[j-offset+from2]-borrow;
+			borrow = diffj >>> 31;
+			diff[j] = diffj + 10*borrow;
+		}
+		
+		// The leading digits of the first operand have no counterpart in the second
+		for (int j=offset-1; j>=0; j--) {
+			int diffj = bytes1[j+from1]-'0'-borrow;
+			borrow = diffj >>> 31;
+			diff[j] = diffj + 10*borrow;
+		}
+		
+		return diff;
+	}
+	
+	/**
+	 * Removes the leading zero elements from an integer array in a single scan, without validating its
+	 * digits. Returns {0} if every element is zero.
+	 */
+	static int[] stripZeroes (int[] arr) {
+		
+		int start = 0;
+		
+		while (start < arr.length-1 && arr[start] == 0) {
+			start++;
+		}
+		
+		return start == 0 ? arr : Arrays.copyOfRange(arr, start, arr.length);
+	}
+	
 	/**
 	 * Inserts a specified number of single digit zero elements to the beginning of an integer array.
 	 * 
@@ -190,7 +427,8 @@ public class BigMathHelper {
 			throw new IllegalArgumentException("The array must contain at least one element and not be null.");
 		}
 		
-		String s = "";
+		// Fill the characters directly, rather than concatenating a new String for every digit
+		char[] chars = new char[arr.length];
 		
 		for (int i=0; i<arr.length; i++) {
 			
@@ -198,14 +436,206 @@ public class BigMathHelper {
 				throw new IllegalArgumentException("The array must contain only a single digit in each element.");
 			
 			if (arr[i] != -1) {
-				s += Integer.toString(arr[i]);
+				chars[i] = (char) ('0'+arr[i]);
 			} else {
-				s += "-";
+				chars[i] = '-';
+			}
+			
+		}
+		
+		return new String(chars);
+	}
+	
+	/**
+	 * Converts an arbitrarily large integer represented by an integer array to a {@code BigInteger}.
+	 * Each element in the array must contain a single digit, except for an optional negative sign
+	 * element of -1 at the beginning of the array. The digits are converted by divide and conquer
+	 * (see {@code toBigInteger(byte[], int, int)}) rather than through a decimal {@code String},
+	 * which {@code BigInteger} parses in quadratic time.
+	 * 
+	 * @param arr the integer represented by an integer array.
+	 * @return a {@code BigInteger} with the same value as the integer array parameter.
+	 * @throws IllegalArgumentException If the {@code int[]} representing the integer parameter
+	 * contains more than a single digit in each element
+	 * @throws IllegalArgumentException If the {@code int[]} representing the integer parameter
+	 * is null or of length 0
+	 */
+	public static BigInteger toBigInteger (int[] arr) {
+		
+		if (arr == null || arr.length == 0 || (arr.length == 1 && arr[0] == -1)){
+			throw new IllegalArgumentException("The array must contain at least one element and not be null.");
+		}
+		
+		int from = arr[0] == -1 ? 1 : 0;
+		byte[] digits = new byte[arr.length];
+		
+		for (int i=from; i<arr.length; i++) {
+			
+			if (!(arr[i] >= 0 && arr[i] <= 9))
+				throw new IllegalArgumentException("The array must contain only a single digit in each element.");
+			
+			digits[i] = (byte) ('0'+arr[i]);
+			
+		}
+		
+		BigInteger n = toBigInteger(digits, from, digits.length);
+		
+		return from == 1 ? n.negate() : n;
+	}
+	
+	/**
+	 * Converts the numeric characters of a non-negative integer, from index {@code from} up to but
+	 * excluding index {@code to}, to a {@code BigInteger}. The characters must already have been checked
+	 * (see {@code checkDigits}).
+	 * <p>
+	 * The digits are split into a high part and a low part of k = 18 * 2^j digits, where k is the
+	 * largest such length which is less than the number of digits, so that the parts are nearly equal.
+	 * The parts are converted recursively and combined as high * 10^k + low, with 10^k taken from a 
+	 * cache of repeated squares. Runs of at most 18 digits are converted to a {@code long} directly. The 
+	 * cost is dominated by the multiplications at the top of the recursion, for which {@code BigInteger}
+	 * uses subquadratic algorithms.
+	 */
+	static BigInteger toBigInteger (byte[] digits, int from, int to) {
+		
+		int len = to-from;
+		
+		if (len <= LONG_DIGITS) {
+			
+			long value = 0;
+			
+			for (int i=from; i<to; i++) {
+				value = 10*value + (digits[i]-'0');
+			}
+			
+			return BigInteger.valueOf(value);
+		}
+		
+		int j = 0;
+		
+		while ((long) LONG_DIGITS << (j+1) < len) {
+			j++;
+		}
+		
+		int split = to-(LONG_DIGITS << j);
+		BigInteger high = toBigInteger(digits, from, split);
+		BigInteger low = toBigInteger(digits, split, to);
+		
+		return high.multiply(tenPower(j)).add(low);
+	}
+	
+	/**
+	 * Converts a {@code BigInteger} to an integer array. Each element in the array contains a single digit, 
+	 * and a negative sign element of -1 is added at the beginning of the array if the value is negative.
+	 * The digits are found by divide and conquer (see {@code fillDigits}) rather than through a decimal
+	 * {@code String}.
+	 * 
+	 * @param n the {@code BigInteger} to be converted.
+	 * @return an integer array containing the digits of {@code n} in order.
+	 * @throws IllegalArgumentException If {@code n} is null
+	 */
+	public static int[] fromBigInteger (BigInteger n) {
+		
+		if (n == null)
+			throw new IllegalArgumentException("The BigInteger must not be null.");
+		
+		BigInteger mag = n.abs();
+		
+		/*
+		 * Bound the number of digits from above by the bit length, using a factor just above log10(2)
+		 * so that rounding can never undercount them, and choose the smallest power 10^(18 * 2^j) whose
+		 * square exceeds the magnitude. The digits are written right-aligned, so the bound may leave a
+		 * leading zero, which is removed below.
+		 */
+		int maxDigits = (int) (mag.bitLength()*0.30103) + 1;
+		int j = -1;
+		
+		while ((long) LONG_DIGITS << (j+1) < maxDigits) {
+			j++;
+		}
+		
+		int sign = n.signum() < 0 ? 1 : 0;
+		int[] arr = new int[sign+maxDigits];
+		
+		fillDigits(mag, arr, arr.length, j);
+		
+		int start = sign;
+		
+		while (start < arr.length-1 && arr[start] == 0) {
+			start++;
+		}
+		
+		if (start > sign) {
+			arr = Arrays.copyOfRange(arr, start-sign, arr.length);
+		}
+		
+		if (sign == 1) {
+			arr[0] = -1;
+		}
+		
+		return arr;
+	}
+	
+	/**
+	 * Writes the digits of a non-negative {@code BigInteger} below 10^(2 * 18 * 2^j) into an integer array,
+	 * ending just before index {@code to}. Only non-zero digits are written, so the elements to be filled
+	 * must be zero beforehand.
+	 * <p>
+	 * The value is split by a division with remainder by 10^(18 * 2^j) into a quotient and a remainder,
+	 * each below 10^(18 * 2^j), which are written recursively; with j = -1, the value fits in a 
+	 * {@code long} and is written directly. Zero quotients are skipped, so that no index below the
+	 * leading digit is touched. {@code BigInteger} divides in subquadratic time, which dominates the cost.
+	 */
+	private static void fillDigits (BigInteger n, int[] arr, int to, int j) {
+		
+		if (n.signum() == 0)
+			return;
+		
+		if (j < 0) {
+			
+			long value = n.longValue();
+			
+			for (int i=to-1; value != 0; i--) {
+				arr[i] = (int) (value % 10);
+				value /= 10;
 			}
 			
+			return;
 		}
 		
-		return s;
+		BigInteger[] qr = n.divideAndRemainder(tenPower(j));
+		
+		fillDigits(qr[0], arr, to-(LONG_DIGITS << j), j-1);
+		fillDigits(qr[1], arr, to, j-1);
+	}
+	
+	/**
+	 * Returns 10^(18 * 2^j) from the cache of repeated squares, growing the cache if needed.
+	 */
+	private static BigInteger tenPower (int j) {
+		
+		BigInteger[] powers = tenPowers;
+		
+		if (j < powers.length)
+			return powers[j];
+		
+		synchronized (BigMathHelper.class) {
+			
+			powers = tenPowers;
+			
+			if (j >= powers.length) {
+				
+				int cached = powers.length;
+				powers = Arrays.copyOf(powers, j+1);
+				
+				for (int i=cached; i<=j; i++) {
+					powers[i] = powers[i-1].multiply(powers[i-1]);
+				}
+				
+				tenPowers = powers;
+			}
+			
+			return powers[j];
+		}
 	}
 	
 }
@@ -0,0 +1,406 @@
+package fastBigMath;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * This class contains a series of methods which encode arbitrarily large integers, represented by integer
+ * arrays in the format returned by {@code BigMathSimple}, into a compact binary format, and decode them again.
+ * <p>
+ * An encoded integer consists of the following fields, in order and big-endian:
+ * <ul>
+ * <li>a single byte holding the format version, currently {@value #VERSION}</li>
+ * <li>a single byte holding the sign, 0 for a non-negative and 1 for a negative integer</li>
+ * <li>a 4 byte {@code int} holding the number of decimal digits <i>n</i> of the magnitude, without leading zeroes</li>
+ * <li>ceil(<i>n</i>/9) 4 byte {@code int} limbs, most significant first, each holding nine decimal digits
+ * as a value from 0 to 999999999, except for the first limb which holds the remaining 
+ * <i>n</i> - 9*(ceil(<i>n</i>/9)-1) digits</li>
+ * </ul>
+ * An integer of <i>n</i> digits thus takes 6 + 4*ceil(<i>n</i>/9) bytes, about 0.44 bytes per digit. 
+ * The encoding is canonical: zero always has the sign 0, and the first limb has no leading zeroes unless
+ * it is the only digit, so that every integer has exactly one encoding and any other is rejected.
+ * The limbs are moved to and from the buffers in bulk, and each limb is expanded into its digits 
+ * without any further arithmetic on the integer.
+ */
+
+public class BigMathSerializer {
+	
+	/**
+	 * The version of the binary format written by this class.
+	 */
+	public static final int VERSION = 1;
+	
+	// The number of decimal digits held by each limb
+	private static final int LIMB_DIGITS = 9;
+	
+	// The size in bytes of the version, sign and length header
+	private static final int HEADER_BYTES = 6;
+	
+	// The bounds on the value of the first limb, according to the number of digits it holds
+	private static final int[] POWERS_OF_TEN = {1, 10, 100, 1000, 10000, 100000, 1000000, 10000000, 100000000};
+	
+	// The largest number of digits accepted, leaving room for the sign element within the maximum array length
+	private static final int MAX_DIGITS = Integer.MAX_VALUE - 9;
+	
+	// The number of limbs buffered at a time when writing to a DataOutput or reading from a DataInput
+	private static final int CHUNK_LIMBS = 8192;
+	
+	/**
+	 * Computes the number of bytes taken by the encoding of an integer.
+	 * 
+	 * @param arr the integer represented by an integer array.
+	 * @return the length in bytes of the encoding of {@code arr}.
+	 * @throws IllegalArgumentException If the {@code int[]} representing the integer parameter
+	 * contains more than a single digit in each element, or is null or of length 0
+	 */
+	public static int encodedLength (int[] arr) {
+		
+		int digits = magnitude(arr).length;
+		
+		return HEADER_BYTES + 4*numLimbs(digits);
+	}
+	
+	/**
+	 * Encodes an integer into a new byte array.
+	 * 
+	 * @param arr the integer represented by an integer array.
+	 * @return a byte array containing the encoding of {@code arr}.
+	 * @throws IllegalArgumentException If the {@code int[]} representing the integer parameter
+	 * contains more than a single digit in each element, or is null or of length 0
+	 */
+	public static byte[] encode (int[] arr) {
+		
+		byte[] bytes = new byte[encodedLength(arr)];
+		encode(arr, ByteBuffer.wrap(bytes));
+		
+		return bytes;
+	}
+	
+	/**
+	 * Encodes an integer into a {@code ByteBuffer}, starting at its current position. The position of the
+	 * buffer is advanced past the encoding. The byte order of the buffer is ignored.
+	 * 
+	 * @param arr the integer represented by an integer array.
+	 * @param buf the buffer to which the encoding is written.
+	 * @throws IllegalArgumentException If the {@code int[]} representing the integer parameter
+	 * contains more than a single digit in each element, or is null or of length 0
+	 * @throws IllegalArgumentException If {@code buf} is null or has too few bytes remaining
+	 */
+	public static void encode (int[] arr, ByteBuffer buf) {
+		
+		if (buf == null)
+			throw new IllegalArgumentException("The buffer must not be null.");
+		
+		int[] mag = magnitude(arr);
+		int limbs = numLimbs(mag.length);
+		
+		if (buf.remaining() < HEADER_BYTES + 4*limbs)
+			throw new IllegalArgumentException("The buffer does not have enough bytes remaining.");
+		
+		ByteBuffer out = buf.duplicate().order(ByteOrder.BIG_ENDIAN);
+		out.put((byte) VERSION);
+		out.put((byte) sign(arr, mag));
+		out.putInt(mag.length);
+		
+		int[] chunk = new int[Math.min(limbs, CHUNK_LIMBS)];
+		IntBuffer limbBuf = out.asIntBuffer();
+		
+		for (int start=0; start<limbs; start+=chunk.length) {
+			int len = Math.min(chunk.length, limbs-start);
+			packLimbs(mag, start, len, chunk);
+			limbBuf.put(chunk, 0, len);
+		}
+		
+		buf.position(buf.position() + HEADER_BYTES + 4*limbs);
+	}
+	
+	/**
+	 * Writes the encoding of an integer to a {@code DataOutput}. The limbs are written in chunks, so that
+	 * no buffer of the size of the whole encoding is allocated.
+	 * 
+	 * @param arr the integer represented by an integer array.
+	 * @param out the output to which the encoding is written.
+	 * @throws IOException If an I/O error occurs while writing to {@code out}
+	 * @throws IllegalArgumentException If the {@code int[]} representing the integer parameter
+	 * contains more than a single digit in each element, or is null or of length 0
+	 * @throws IllegalArgumentException If {@code out} is null
+	 */
+	public static void write (int[] arr, DataOutput out) throws IOException {
+		
+		if (out == null)
+			throw new IllegalArgumentException("The output must not be null.");
+		
+		int[] mag = magnitude(arr);
+		int limbs = numLimbs(mag.length);
+		
+		out.writeByte(VERSION);
+		out.writeByte(sign(arr, mag));
+		out.writeInt(mag.length);
+		
+		int[] chunk = new int[Math.min(limbs, CHUNK_LIMBS)];
+		byte[] bytes = new byte[4*chunk.length];
+		IntBuffer limbBuf = ByteBuffer.wrap(bytes).asIntBuffer();
+		
+		for (int start=0; start<limbs; start+=chunk.length) {
+			int len = Math.min(chunk.length, limbs-start);
+			packLimbs(mag, start, len, chunk);
+			limbBuf.clear();
+			limbBuf.put(chunk, 0, len);
+			out.write(bytes, 0, 4*len);
+		}
+	}
+	
+	/**
+	 * Decodes an integer from a byte array.
+	 * 
+	 * @param bytes the byte array containing the encoding, starting at index 0.
+	 * @return an integer array containing the digits of the decoded integer in order, along with
+	 * a negative sign element at the beginning of the array if the integer is negative.
+	 * @throws IllegalArgumentException If {@code bytes} is null, truncated, or not a valid encoding
+	 */
+	public static int[] decode (byte[] bytes) {
+		
+		if (bytes == null)
+			throw new IllegalArgumentException("The byte array must not be null.");
+		
+		return decode(ByteBuffer.wrap(bytes));
+	}
+	
+	/**
+	 * Decodes an integer from a {@code ByteBuffer}, starting at its current position. The position of the
+	 * buffer is advanced past the encoding. The byte order of the buffer is ignored.
+	 * 
+	 * @param buf the buffer containing the encoding.
+	 * @return an integer array containing the digits of the decoded integer in order, along with
+	 * a negative sign element at the beginning of the array if the integer is negative.
+	 * @throws IllegalArgumentException If {@code buf} is null, truncated, or does not contain a valid encoding
+	 */
+	public static int[] decode (ByteBuffer buf) {
+		
+		if (buf == null)
+			throw new IllegalArgumentException("The buffer must not be null.");
+		
+		if (buf.remaining() < HEADER_BYTES)
+			throw new IllegalArgumentException("The buffer does not contain a complete encoding.");
+		
+		ByteBuffer in = buf.duplicate().order(ByteOrder.BIG_ENDIAN);
+		boolean negative = readSign(in.get(), in.get());
+		int digits = readLength(in.getInt());
+		int limbs = numLimbs(digits);
+		
+		if (in.remaining()/4 < limbs)
+			throw new IllegalArgumentException("The buffer does not contain a complete encoding.");
+		
+		int[] arr = newResult(digits, negative);
+		int offset = negative ? 1 : 0;
+		int[] chunk = new int[Math.min(limbs, CHUNK_LIMBS)];
+		IntBuffer limbBuf = in.asIntBuffer();
+		
+		for (int start=0; start<limbs; start+=chunk.length) {
+			int len = Math.min(chunk.length, limbs-start);
+			limbBuf.get(chunk, 0, len);
+			unpackLimbs(chunk, start, len, arr, offset, digits);
+		}
+		
+		buf.position(buf.position() + HEADER_BYTES + 4*limbs);
+		
+		return arr;
+	}
+	
+	/**
+	 * Reads and decodes an integer from a {@code DataInput}. The limbs are read in chunks, so that
+	 * no buffer of the size of the whole encoding is allocated, and the result grows as the chunks 
+	 * arrive rather than being allocated up front from the length in the header. A truncated input 
+	 * thus fails once its actual end is reached, however large a length it claims.
+	 * 
+	 * @param in the input from which the encoding is read.
+	 * @return an integer array containing the digits of the decoded integer in order, along with
+	 * a negative sign element at the beginning of the array if the integer is negative.
+	 * @throws IOException If an I/O error occurs while reading from {@code in}, including reaching
+	 * the end of the input before the end of the encoding
+	 * @throws IllegalArgumentException If {@code in} is null or does not contain a valid encoding
+	 */
+	public static int[] read (DataInput in) throws IOException {
+		
+		if (in == null)
+			throw new IllegalArgumentException("The input must not be null.");
+		
+		boolean negative = readSign(in.readByte(), in.readByte());
+		int digits = readLength(in.readInt());
+		int limbs = numLimbs(digits);
+		
+		int offset = negative ? 1 : 0;
+		int[] chunk = new int[Math.min(limbs, CHUNK_LIMBS)];
+		int[] arr = newResult(Math.min(digits, chunk.length*LIMB_DIGITS), negative);
+		byte[] bytes = new byte[4*chunk.length];
+		IntBuffer limbBuf = ByteBuffer.wrap(bytes).asIntBuffer();
+		
+		for (int start=0; start<limbs; start+=chunk.length) {
+			int len = Math.min(chunk.length, limbs-start);
+			in.readFully(bytes, 0, 4*len);
+			limbBuf.clear();
+			limbBuf.get(chunk, 0, len);
+			
+			// Grow the result, doubling its size, to hold the digits of the limbs read so far
+			long needed = offset + Math.min((long) digits, (long) limbWidth(0, digits) + (long) (start+len-1)*LIMB_DIGITS);
+			
+			if (needed > arr.length)
+				arr = Arrays.copyOf(arr, (int) Math.min(offset + (long) digits, Math.max(needed, 2L*arr.length)));
+			
+			unpackLimbs(chunk, start, len, arr, offset, digits);
+		}
+		
+		return arr;
+	}
+	
+	/**
+	 * Returns the digits of the magnitude of an integer, without its sign element and leading zeroes.
+	 * Zero is returned as {0}.
+	 */
+	private static int[] magnitude (int[] arr) {
+		
+		if (arr == null || arr.length == 0){
+			throw new IllegalArgumentException("The array must contain at least one element and not be null.");
+		}
+		
+		int start = isNegative(arr) ? 1 : 0;
+		
+		while (start < arr.length-1 && arr[start] == 0) {
+			start++;
+		}
+		
+		if (start == arr.length)
+			throw new IllegalArgumentException("The array must contain at least one digit.");
+		
+		int[] mag = new int[arr.length-start];
+		
+		for (int i=0; i<mag.length; i++) {
+			
+			if (!(arr[i+start] >= 0 && arr[i+start] <= 9))
+				throw new IllegalArgumentException("The array must contain only a single digit in each element.");
+			
+			mag[i] = arr[i+start];
+			
+		}
+		
+		return mag;
+	}
+	
+	private static boolean isNegative (int[] arr) {
+		return arr[0] == -1;
+	}
+	
+	/**
+	 * Returns the sign byte of an integer with the given magnitude, which is 0 for zero even if
+	 * the integer carries a negative sign element.
+	 */
+	private static int sign (int[] arr, int[] mag) {
+		return isNegative(arr) && !(mag.length == 1 && mag[0] == 0) ? 1 : 0;
+	}
+	
+	private static int numLimbs (int digits) {
+		return (int) (((long) digits + LIMB_DIGITS - 1) / LIMB_DIGITS);
+	}
+	
+	/**
+	 * Returns the number of digits held by a limb, the first of which holds the remainder.
+	 */
+	private static int limbWidth (int limb, int digits) {
+		
+		if (limb > 0)
+			return LIMB_DIGITS;
+		
+		int rem = digits % LIMB_DIGITS;
+		
+		return rem == 0 ? LIMB_DIGITS : rem;
+	}
+	
+	/**
+	 * Packs the limbs [start, start+len) of a magnitude into {@code chunk}.
+	 */
+	private static void packLimbs (int[] mag, int start, int len, int[] chunk) {
+		
+		int first = limbWidth(0, mag.length);
+		
+		for (int j=0; j<len; j++) {
+			
+			int limb = start+j;
+			int width = limbWidth(limb, mag.length);
+			int pos = (limb == 0) ? 0 : first + (limb-1)*LIMB_DIGITS;
+			int value = 0;
+			
+			for (int k=0; k<width; k++) {
+				value = value*10 + mag[pos+k];
+			}
+			
+			chunk[j] = value;
+		}
+	}
+	
+	/**
+	 * Expands the limbs [start, start+len) held in {@code chunk} into the digits of {@code arr},
+	 * beginning at index {@code offset} for the first limb, which is 1 exactly when the integer is
+	 * negative. The first limb is checked to be canonical.
+	 */
+	private static void unpackLimbs (int[] chunk, int start, int len, int[] arr, int offset, int digits) {
+		
+		int first = limbWidth(0, digits);
+		
+		for (int j=0; j<len; j++) {
+			
+			int limb = start+j;
+			int width = limbWidth(limb, digits);
+			int pos = offset + ((limb == 0) ? 0 : first + (limb-1)*LIMB_DIGITS);
+			int value = chunk[j];
+			
+			if (value < 0 || value > 999999999 || (width < LIMB_DIGITS && value >= POWERS_OF_TEN[width]))
+				throw new IllegalArgumentException("The encoding contains a limb out of range.");
+			
+			if (limb == 0 && digits > 1 && value < POWERS_OF_TEN[width-1])
+				throw new IllegalArgumentException("The encoding contains leading zeroes.");
+			
+			if (limb == 0 && digits == 1 && value == 0 && offset == 1)
+				throw new IllegalArgumentException("The encoding contains a negative zero.");
+			
+			for (int k=width-1; k>=0; k--) {
+				arr[pos+k] = value % 10;
+				value /= 10;
+			}
+		}
+	}
+	
+	private static boolean readSign (byte version, byte sign) {
+		
+		if (version != VERSION)
+			throw new IllegalArgumentException("Unsupported encoding version: " + version + ".");
+		
+		if (sign != 0 && sign != 1)
+			throw new IllegalArgumentException("The encoding contains an invalid sign byte.");
+		
+		return sign == 1;
+	}
+	
+	private static int readLength (int digits) {
+		
+		if (digits < 1 || digits > MAX_DIGITS)
+			throw new IllegalArgumentException("The encoding contains an invalid length.");
+		
+		return digits;
+	}
+	
+	private static int[] newResult (int digits, boolean negative) {
+		
+		int[] arr = new int[negative ? digits+1 : digits];
+		
+		if (negative)
+			arr[0] = -1;
+		
+		return arr;
+	}
+
+}
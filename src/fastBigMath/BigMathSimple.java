@@ -1,10 +1,15 @@
 package fastBigMath;
 
+import java.util.Arrays;
+
 /**
  * This class contains a series of methods capable of performing basic arithmetic operations on integers 
  * of virtually unlimited length. All methods take parameters of type {@code String}, 
  * which represent the operands. The type {@code String} is used, as it permits the representation 
  * of arbitrarily large integers, and can be easily manipulated.
+ * <p>
+ * Each operation is carried out by the {@code BigMathBackend} which {@code BigMathDispatch} selects
+ * for the size of the operands. By default this is the library's own digit array implementation.
  * 
  * @author Chaitanya Varier
  * @version 05/12/2016
@@ -12,6 +17,9 @@ package fastBigMath;
 
 public class BigMathSimple {
 	
+	// The number of digits of the divisor beyond the target precision used by each Newton step in reciprocal()
+	private static final int RECIPROCAL_GUARD_DIGITS = 4;
+	
 	/**
 	 * Computes the arithmetic sum of two arbitrarily large positive integers
 	 * (ie. {@code sum1} + {@code sum2}). At least one integer must be strictly non-zero.
@@ -22,49 +30,58 @@ public class BigMathSimple {
 	 */
 	public static int[] add (String sum1, String sum2) {
 		
-		int[] n1;
-		int[] n2;
-		int[] sum = {0};
+		return BigMathDispatch.select(BigMathDispatch.Operation.ADD, sum1, sum2).add(sum1, sum2);
 		
-		/* 
-		 * Set the length of sum[] to the length of the largest operand + 1. This will
-		 * ensure that the largest possible sum of any two integers with the same lengths as the
-		 * operands can be contained within sum[]. Parse sum1 and sum2 as arrays and
-		 * set them to n1[] and n2[] respectively. Pad them with zeroes to ensure they have
-		 * the same length as sum[].
-		 */
-		if (sum1.length() >= sum2.length()) {
-			sum = new int[sum1.length()+1];
-			n1 = BigMathHelper.toArray(sum1);
-			n1 = BigMathHelper.padZeroes(n1, 1);
-			n2 = BigMathHelper.toArray(sum2);
-			n2 = BigMathHelper.padZeroes(n2, n1.length-n2.length);
-		} else {
-			sum = new int[sum2.length()+1];
-			n2 = BigMathHelper.toArray(sum2);
-			n2 = BigMathHelper.padZeroes(n2, 1);
-			n1 = BigMathHelper.toArray(sum1);
-			n1 = BigMathHelper.padZeroes(n1, n2.length-n1.length);
-		}
+	}
+	
+	/**
+	 * Computes the sum using the library's own digit array algorithm, bypassing the
+	 * backend selected by {@code BigMathDispatch}. See {@link #add(String, String)}.
+	 */
+	static int[] addKernel (String sum1, String sum2) {
 		
-		int sumi = 0, carryOver = 0;
+		byte[] n1 = BigMathHelper.toBytes(sum1);
+		byte[] n2 = BigMathHelper.toBytes(sum2);
 		
 		/* 
-		 * Compute the sum of n1[] and n2[] into sum[] using the standard carryover approach.
-		 * The current sum, sumi, is computed as the sum of the digits in n1[i] and n2[i] and
-		 * any carryover as required. The actual sum computed into sum[i] is the last digit of
-		 * sumi. sumi can at most be two digits, therefore the carryover will be the first digit of sumi.
+		 * Compute the sum of n1[] and n2[] into sum[] directly from the characters of the operands,
+		 * without padding them to the same length first. sum[] is one element longer than the
+		 * longer operand, which ensures that the largest possible sum of any two integers with the
+		 * same lengths as the operands can be contained within it. The digits are summed and 
+		 * carried in one branch-free pass, avoiding a %10 and /10 per digit.
 		 */
-		for (int i=sum.length-1; i>=0; i--) {
-			sumi = n1[i]+n2[i]+carryOver;
-			sum[i] += sumi%10;
-			carryOver = sumi/10;
-		}
+		int[] sum = BigMathHelper.addBytes(n1, n2);
 		
-		// Remove the extra zero from the beginning of sum[] as needed.
-		sum = BigMathHelper.removePaddedZeroes(sum);
+		// Remove the leading zeroes from sum[], leaving {0} if both summands are zero
+		return BigMathHelper.stripZeroes(sum);
 		
-		return sum;
+	}
+	
+	/**
+	 * Computes the sum of two non-negative integers given as integer arrays, which may have leading
+	 * zeroes, with the backend selected by {@code BigMathDispatch}. Chains of operations call this
+	 * rather than {@link #add(String, String)}, so that their intermediate results are not converted
+	 * to {@code String}s.
+	 */
+	static int[] add (int[] sum1, int[] sum2) {
+		
+		return BigMathDispatch.select(BigMathDispatch.Operation.ADD, sum1, sum2).add(sum1, sum2);
+		
+	}
+	
+	/**
+	 * Computes the sum of two integer arrays using the library's own digit array algorithm. 
+	 * See {@link #add(int[], int[])}.
+	 */
+	static int[] addKernel (int[] sum1, int[] sum2) {
+		
+		int len = Math.max(sum1.length, sum2.length);
+		
+		// Pad the shorter summand with zeroes, checking the digits of both
+		int[] n1 = BigMathHelper.padZeroes(sum1, len-sum1.length);
+		int[] n2 = BigMathHelper.padZeroes(sum2, len-sum2.length);
+		
+		return BigMathHelper.stripZeroes(BigMathHelper.addDigits(n1, n2));
 		
 	}
 	
@@ -79,90 +96,134 @@ public class BigMathSimple {
 	 */
 	public static int[] subtract (String min, String sub) {
 		
-		int[] n1 = BigMathHelper.toArray(min);
-		int[] n2 = BigMathHelper.toArray(sub);
-		int[] diff = {0};
-		boolean addSign = false;
+		return BigMathDispatch.select(BigMathDispatch.Operation.SUBTRACT, min, sub).subtract(min, sub);
 		
-		n1 = BigMathHelper.removePaddedZeroes(n1);
-		n2 = BigMathHelper.removePaddedZeroes(n2);
+	}
+	
+	/**
+	 * Computes the difference using the library's own digit array algorithm, bypassing the
+	 * backend selected by {@code BigMathDispatch}. See {@link #subtract(String, String)}.
+	 */
+	static int[] subtractKernel (String min, String sub) {
 		
-		// Check if the length of min is greater than the length of sub (ie. if min > sub)
-		if (n1.length > n2.length) {
-			
-			diff = new int[n1.length];
-			n2 = BigMathHelper.padZeroes(n2, n1.length-n2.length);
+		byte[] n1 = BigMathHelper.toBytes(min);
+		byte[] n2 = BigMathHelper.toBytes(sub);
+		
+		// Skip the leading zeroes of both operands
+		int from1 = 0, from2 = 0;
+		
+		while (from1 < n1.length && n1[from1] == '0') {
+			from1++;
+		}
+		
+		while (from2 < n2.length && n2[from2] == '0') {
+			from2++;
+		}
+		
+		int len1 = n1.length-from1;
+		int len2 = n2.length-from2;
+		
+		// Both integers must be zero if either is zero
+		if (len1 == 0 || len2 == 0) {
 			
-		} else if (n1.length < n2.length) {
+			if (len1 != len2)
+				throw new IllegalArgumentException("The array must contain at least one element and not be null.");
 			
-			// sub is greater than min, which implies the difference will be negative
-			addSign = true;
-			diff = new int[n2.length];
-			int[] tmp = n1;
-			n1 = n2;
-			n2 = tmp;
-			n2 = BigMathHelper.padZeroes(n2, n1.length-n2.length);
+			int[] diffEquals = {0};
+			return diffEquals;
+		}
+		
+		/*
+		 * Compare min and sub, first by their lengths and then, if these are equal, at the 
+		 * first differing digit.
+		 */
+		int cmp = Integer.compare(len1, len2);
+		
+		if (cmp == 0) {
 			
-		} else {
-			// the lengths of min and sub are equal
+			int i = Arrays.mismatch(n1, from1, n1.length, n2, from2, n2.length);
 			
 			// If min = sub, then return {0}
-			if (BigMathHelper.checkIsEqual(n1,n2)) {
+			if (i < 0) {
+				BigMathHelper.checkDigits(n1, from1);
 				int[] diffEquals = {0};
 				return diffEquals;
 			}
-			// check if min is greater than sub
-			if (BigMathHelper.checkIsGreaterThan(n1, n2)) {
-				diff = new int[n1.length];
-			} else {
-				// sub is greater than min, which implies the difference will be negative
-				addSign = true;
-				diff = new int[n2.length];
-				int[] tmp = n1;
-				n1 = n2;
-				n2 = tmp;
-			}
+			
+			cmp = n1[from1+i] > n2[from2+i] ? 1 : -1;
 		}
 		
-		int diffi = 0;
-		
 		/* 
-		 * Compute the difference of n1[] and n2[] into diff[] using the standard carryover approach.
-		 * At this point, n1[] will always be greater than n2[].
-		 * The current difference, diffi, is computed as the difference of the digits in n1[i] and n2[i] and
-		 * any carryover as required.
+		 * Compute the difference of the larger and the smaller operand into diff[]. The digits are 
+		 * subtracted and borrowed in one branch-free pass. If sub is greater than min, the
+		 * difference will be negative, and is flagged by a -1 at the beginning of the array.
 		 */
+		int[] diff;
+		
+		if (cmp > 0) {
+			diff = BigMathHelper.stripZeroes(BigMathHelper.subtractBytes(n1, from1, n2, from2));
+		} else {
+			int[] mag = BigMathHelper.stripZeroes(BigMathHelper.subtractBytes(n2, from2, n1, from1));
+			diff = new int[mag.length+1];
+			diff[0] = -1;
+			System.arraycopy(mag, 0, diff, 1, mag.length);
+		}
+		
+		return diff;
 		
-		for (int i=diff.length-1; i>=0; i--) {
+	}
+	
+	/**
+	 * Computes the difference of two non-negative integers given as integer arrays, which may have leading
+	 * zeroes, with the backend selected by {@code BigMathDispatch}. See {@link #add(int[], int[])}.
+	 */
+	static int[] subtract (int[] min, int[] sub) {
+		
+		return BigMathDispatch.select(BigMathDispatch.Operation.SUBTRACT, min, sub).subtract(min, sub);
+		
+	}
+	
+	/**
+	 * Computes the difference of two integer arrays using the library's own digit array algorithm. 
+	 * See {@link #subtract(int[], int[])}.
+	 */
+	static int[] subtractKernel (int[] min, int[] sub) {
+		
+		int[] n1 = BigMathHelper.removePaddedZeroes(min);
+		int[] n2 = BigMathHelper.removePaddedZeroes(sub);
+		
+		// Both integers must be zero if either is zero
+		if (n1.length == 0 || n2.length == 0) {
 			
-			if (n1[i] < n2[i]){
-				diffi = (10+n1[i])-n2[i];
-				if (i > 0) {
-					n1[i-1] = n1[i-1]-1;
-				} else {
-					int j = i;
-					// If 
-					while (n1[j] == 0) { 
-						n1[j] = 9;
-						j--;
-					}
-					n1[j] = n1[j] - 1;
-				}
-			} else {
-				diffi = n1[i]-n2[i];
-			}
-			diff[i] += diffi;
+			if (n1.length != n2.length)
+				throw new IllegalArgumentException("The array must contain at least one element and not be null.");
 			
+			int[] diffEquals = {0};
+			return diffEquals;
 		}
-
-		diff = BigMathHelper.removePaddedZeroes(diff);
 		
-		// If the difference is negative, then add a -1 flag at the beginning of the array
-		if (addSign) {
-			diff = BigMathHelper.padZeroes(diff, 1);
-			diff[0]=-1;
+		int cmp = n1.length != n2.length ? Integer.compare(n1.length, n2.length) : BigMathHelper.compare(n1, n2);
+		
+		// If min = sub, then return {0}
+		if (cmp == 0) {
+			int[] diffEquals = {0};
+			return diffEquals;
 		}
 		
+		// Subtract the smaller operand, padded to the same length, from the larger
+		int[] larger = cmp > 0 ? n1 : n2;
+		int[] smaller = cmp > 0 ? n2 : n1;
+		int[] mag = BigMathHelper.stripZeroes(BigMathHelper.subtractDigits(larger, 
+				BigMathHelper.padZeroes(smaller, larger.length-smaller.length)));
+		
+		if (cmp > 0)
+			return mag;
+		
+		// If sub is greater than min, flag the negative difference with a -1 at the beginning of the array
+		int[] diff = new int[mag.length+1];
+		diff[0] = -1;
+		System.arraycopy(mag, 0, diff, 1, mag.length);
+		
 		return diff;
 		
 	}
@@ -177,8 +238,44 @@ public class BigMathSimple {
 	 */
 	public static int[] multiply (String fact1, String fact2) {
 		
-		int[] n1 = BigMathHelper.removePaddedZeroes(BigMathHelper.toArray(fact1));
-		int[] n2 = BigMathHelper.removePaddedZeroes(BigMathHelper.toArray(fact2));
+		return BigMathDispatch.select(BigMathDispatch.Operation.MULTIPLY, fact1, fact2).multiply(fact1, fact2);
+		
+	}
+	
+	/**
+	 * Computes the product using the library's own digit array algorithm, bypassing the
+	 * backend selected by {@code BigMathDispatch}. See {@link #multiply(String, String)}.
+	 */
+	static int[] multiplyKernel (String fact1, String fact2) {
+		
+		return multiplyKernel(BigMathHelper.toArray(fact1), BigMathHelper.toArray(fact2));
+		
+	}
+	
+	/**
+	 * Computes the product of two non-negative integers given as integer arrays, which may have leading
+	 * zeroes, with the backend selected by {@code BigMathDispatch}. See {@link #add(int[], int[])}.
+	 */
+	static int[] multiply (int[] fact1, int[] fact2) {
+		
+		return BigMathDispatch.select(BigMathDispatch.Operation.MULTIPLY, fact1, fact2).multiply(fact1, fact2);
+		
+	}
+	
+	/**
+	 * Computes the product of two integer arrays using the library's own digit array algorithm. 
+	 * See {@link #multiply(int[], int[])}.
+	 */
+	static int[] multiplyKernel (int[] fact1, int[] fact2) {
+		
+		int[] n1 = BigMathHelper.removePaddedZeroes(fact1);
+		int[] n2 = BigMathHelper.removePaddedZeroes(fact2);
+		
+		// If either factor is zero, then return {0}
+		if (n1.length == 0 || n2.length == 0) {
+			int[] prodZero = {0};
+			return prodZero;
+		}
 		
 		// Let n1 store the larger factor
 		if (n1.length < n2.length) {
@@ -370,7 +467,8 @@ public class BigMathSimple {
 	 * Computes the arithmetic quotient of two arbitrarily large positive integers 
 	 * (ie. {@code divid} / {@code div}).
 	 * The quotient is returned as a normal integer division in Java 
-	 * (ie. the fractional component is truncated).
+	 * (ie. the fractional component is truncated). To obtain fractional digits of the quotient, 
+	 * see {@link #divide(String, String, int)}.
 	 * 
 	 * @param divid the dividend, represented by a {@code String}.
 	 * @param div the divisor, represented by a {@code String}.
@@ -378,6 +476,16 @@ public class BigMathSimple {
 	 */
 	public static int[] divide (String divid, String div) {
 		
+		return BigMathDispatch.select(BigMathDispatch.Operation.DIVIDE, divid, div).divide(divid, div);
+		
+	}
+	
+	/**
+	 * Computes the quotient using the library's own digit array algorithm, bypassing the
+	 * backend selected by {@code BigMathDispatch}. See {@link #divide(String, String)}.
+	 */
+	static int[] divideKernel (String divid, String div) {
+		
 		int[] n1 = BigMathHelper.removePaddedZeroes(BigMathHelper.toArray(divid));
 		int[] n2 = BigMathHelper.removePaddedZeroes(BigMathHelper.toArray(div));
 		
@@ -422,20 +530,223 @@ public class BigMathSimple {
 		/*
 		 * Carry out the division by finding the greatest multiple of div that fits into divid
 		 */
-		while (!BigMathHelper.checkIsGreaterThan(divMult, n1) || BigMathHelper.checkIsEqual
-				(divMult, n1)) {
+		while (BigMathHelper.compare(divMult, n1) <= 0) {
 			
 			// Increment quot by 1
-			quot = add(quotStr, "1");
+			quot = addKernel(quotStr, "1");
 			quotStr = BigMathHelper.toString(quot);
 			
 			// Multiply div by quot
-			divMult = multiply(BigMathHelper.toString(n2), quotStr);
+			divMult = multiplyKernel(BigMathHelper.toString(n2), quotStr);
 			divMult = BigMathHelper.padZeroes(divMult, n1.length-divMult.length);
 			
 		}
 		
-		return subtract(BigMathHelper.toString(quot), "1");
+		return subtractKernel(BigMathHelper.toString(quot), "1");
+		
+	}
+	
+	/**
+	 * Computes the arithmetic quotient of two arbitrarily large positive integers to a fixed number
+	 * of fractional digits (ie. {@code divid} / {@code div} truncated after {@code fractionalDigits}
+	 * decimal places). The quotient is returned as the integer 
+	 * floor({@code divid} * 10<sup>{@code fractionalDigits}</sup> / {@code div}), so that the last
+	 * {@code fractionalDigits} digits of the result are the fractional digits of the quotient.
+	 * <p>
+	 * The quotient is obtained from a reciprocal of the divisor computed by {@link #reciprocal(String, int)},
+	 * so no digit by digit search is carried out.
+	 * 
+	 * @param divid the dividend, represented by a {@code String}.
+	 * @param div the divisor, represented by a {@code String}.
+	 * @param fractionalDigits the number of fractional digits of the quotient.
+	 * @return an integer array containing the digits of the calculated quotient, scaled by 
+	 * 10<sup>{@code fractionalDigits}</sup>, in order.
+	 * @throws IllegalArgumentException If {@code div} is zero or {@code fractionalDigits} is negative
+	 */
+	public static int[] divide (String divid, String div, int fractionalDigits) {
+		
+		if (fractionalDigits < 0)
+			throw new IllegalArgumentException("The number of fractional digits must not be negative.");
+		
+		String scaled = shiftLeft(stripZeroes(divid), fractionalDigits);
+		int precision = scaled.length();
+		
+		return divide(scaled, div, reciprocal(div, precision), precision);
+		
+	}
+	
+	/**
+	 * Computes the truncated arithmetic quotient of two arbitrarily large positive integers
+	 * (ie. {@code divid} / {@code div}) using a reciprocal of the divisor previously computed by
+	 * {@link #reciprocal(String, int)}. Dividing many integers by the same divisor thus costs a 
+	 * single reciprocal computation, plus one multiplication per quotient. The dividend must not 
+	 * contain more digits than the precision of the reciprocal.
+	 * 
+	 * @param divid the dividend, represented by a {@code String}.
+	 * @param div the divisor, represented by a {@code String}.
+	 * @param recip the reciprocal of {@code div}, as returned by {@code reciprocal(div, precision)}.
+	 * @param precision the precision with which {@code recip} was computed.
+	 * @return an integer array containing the digits of the calculated quotient in order.
+	 * @throws IllegalArgumentException If {@code div} is zero or {@code divid} contains more
+	 * than {@code precision} digits
+	 * @throws IllegalArgumentException If {@code recip} is not the reciprocal of {@code div} 
+	 * to {@code precision}
+	 */
+	public static int[] divide (String divid, String div, int[] recip, int precision) {
+		
+		int[] n1 = BigMathHelper.removePaddedZeroes(BigMathHelper.toArray(divid));
+		int[] n2 = BigMathHelper.removePaddedZeroes(BigMathHelper.toArray(div));
+		
+		if (n2.length == 0)
+			throw new IllegalArgumentException("The divisor must not be zero.");
+		
+		if (n1.length > precision)
+			throw new IllegalArgumentException("The dividend must not contain more digits than the precision of the reciprocal.");
+		
+		if (n1.length == 0) {
+			int[] quotZero = {0};
+			return quotZero;
+		}
+		
+		/*
+		 * Since recip = floor(10^precision / div) and divid < 10^precision, the estimate
+		 * floor(divid * recip / 10^precision) is either the quotient or one less than it.
+		 */
+		int[] quot = shiftRight(multiply(n1, recip), precision);
+		int[] divMult = BigMathHelper.checkIsZero(quot) ? quot : multiply(n2, quot);
+		int[] rem = BigMathHelper.checkIsZero(divMult) ? n1 : subtract(n1, divMult);
+		
+		/*
+		 * Correct the estimate once if the remainder is at least the divisor. A remainder which is 
+		 * negative, or still at least the divisor, can only come from a reciprocal computed for 
+		 * another divisor or precision.
+		 */
+		if (rem[0] != -1 && compareValues(rem, n2) >= 0) {
+			int[] one = {1};
+			quot = add(quot, one);
+			rem = subtract(rem, n2);
+		}
+		
+		if (rem[0] == -1 || compareValues(rem, n2) >= 0)
+			throw new IllegalArgumentException("The reciprocal does not match the divisor and precision.");
+		
+		return quot;
+		
+	}
+	
+	/**
+	 * Computes the reciprocal of an arbitrarily large positive integer to a given precision, that is
+	 * floor(10<sup>{@code precision}</sup> / {@code div}). The result may be passed to 
+	 * {@link #divide(String, String, int[], int)} to divide any integer of at most {@code precision}
+	 * digits by {@code div}.
+	 * <p>
+	 * The reciprocal is computed by Newton's iteration r' = r + r(10<sup>p</sup> - div*r) / 10<sup>p</sup>,
+	 * starting from an estimate of about nine correct digits and nearly doubling the number of correct
+	 * digits with each step. A step producing <i>j</i> digits only uses the leading <i>j</i> + 4 digits
+	 * of the divisor, so that the cost of all steps together is about twice that of the last one. The
+	 * whole divisor is only used once, in a final multiplication which corrects the result to be exact.
+	 * The intermediate values are kept as integer arrays throughout.
+	 * 
+	 * @param div the divisor, represented by a {@code String}.
+	 * @param precision the power of ten which is divided by {@code div}.
+	 * @return an integer array containing the digits of the calculated reciprocal in order.
+	 * @throws IllegalArgumentException If {@code div} is zero or {@code precision} is negative
+	 */
+	public static int[] reciprocal (String div, int precision) {
+		
+		int[] d = BigMathHelper.removePaddedZeroes(BigMathHelper.toArray(div));
+		
+		if (d.length == 0)
+			throw new IllegalArgumentException("The divisor must not be zero.");
+		
+		if (precision < 0)
+			throw new IllegalArgumentException("The precision must not be negative.");
+		
+		int m = d.length;
+		int[] one = {1};
+		int[] pow = shiftLeft(one, precision);
+		
+		// If div > 10^precision, then the reciprocal is zero, and if div = 10^precision it is one
+		if (precision < m) {
+			int[] recip = {compareValues(d, pow) == 0 ? 1 : 0};
+			return recip;
+		}
+		
+		/*
+		 * The reciprocal is 10^k * (10^m / div) for k = precision - m, where 10^m / div lies in (1, 10].
+		 * Seed the iteration at k0 <= 8 from the leading (at most ten) digits t of div, as
+		 * 10^(k0+m) / div ~ 10^(k0+L) / t, which fits in a long. This estimate is exact when 
+		 * div has at most ten digits and otherwise off by at most a few units.
+		 */
+		int k = precision - m;
+		int kc = Math.min(k, 8);
+		int len = Math.min(m, 10);
+		long t = 0;
+		long seed = 1;
+		
+		for (int i=0; i<len; i++) {
+			t = 10*t + d[i];
+		}
+		
+		for (int i=0; i<kc+len; i++) {
+			seed *= 10;
+		}
+		
+		int[] r = BigMathHelper.toArray(Long.toString(seed / t));
+		
+		/*
+		 * Newton's iteration. At every level kc, r approximates 10^(kc+m) / div with an error of 
+		 * at most a few dozen units. Each step squares the relative error, which allows the next
+		 * level to be 2*kc - 3, keeping three digits in hand against the error carried over and the 
+		 * truncations. Since 10^(kn+m) / div ~ 10^(kn+len) / dt for the leading len digits dt of div, 
+		 * the step only needs the leading kn + RECIPROCAL_GUARD_DIGITS digits of the divisor.
+		 */
+		while (kc < k) {
+			
+			int kn = Math.min(2*kc - 3, k);
+			len = Math.min(m, kn + RECIPROCAL_GUARD_DIGITS);
+			int[] dt = Arrays.copyOf(d, len);
+			int scale = kn + len;
+			
+			// Scale the current estimate up to the new precision
+			int[] x = shiftLeft(r, kn-kc);
+			
+			// The residual 10^(kn+len) - dt*x, which may be negative
+			int[] e = subtract(shiftLeft(one, scale), multiply(dt, x));
+			boolean negative = e[0] == -1;
+			
+			if (negative)
+				e = Arrays.copyOfRange(e, 1, e.length);
+			
+			int[] corr = BigMathHelper.checkIsZero(e) ? e : shiftRight(multiply(x, e), scale);
+			
+			if (BigMathHelper.checkIsZero(corr)) {
+				r = x;
+			} else if (negative) {
+				r = subtract(x, corr);
+			} else {
+				r = add(x, corr);
+			}
+			
+			kc = kn;
+		}
+		
+		// Correct the final estimate by a few units so that div*r <= 10^precision < div*(r+1)
+		int[] prod = multiply(d, r);
+		
+		while (compareValues(prod, pow) > 0) {
+			r = subtract(r, one);
+			prod = subtract(prod, d);
+		}
+		
+		prod = add(prod, d);
+		
+		while (compareValues(prod, pow) <= 0) {
+			r = add(r, one);
+			prod = add(prod, d);
+		}
+		
+		return r;
 		
 	}
 	
@@ -450,14 +761,84 @@ public class BigMathSimple {
 	 */
 	public static int[] modulate (String divid, String div) {
 		
+		return BigMathDispatch.select(BigMathDispatch.Operation.MODULATE, divid, div).modulate(divid, div);
+		
+	}
+	
+	/**
+	 * Computes the division remainder using the library's own digit array algorithm, bypassing the
+	 * backend selected by {@code BigMathDispatch}. See {@link #modulate(String, String)}.
+	 */
+	static int[] modulateKernel (String divid, String div) {
+		
 		int[] n1 = BigMathHelper.removePaddedZeroes(BigMathHelper.toArray(divid));
 		int[] n2 = BigMathHelper.removePaddedZeroes(BigMathHelper.toArray(div));
 		
-		int[] mod = multiply(BigMathHelper.toString(divide(BigMathHelper.toString(n1), 
+		int[] mod = multiplyKernel(BigMathHelper.toString(divideKernel(BigMathHelper.toString(n1), 
 				BigMathHelper.toString(n2))),div);
 		
-		return subtract(divid, BigMathHelper.toString(mod));
+		return subtractKernel(divid, BigMathHelper.toString(mod));
+		
+	}
+	
+	/**
+	 * Multiplies an integer represented by a {@code String} by 10<sup>{@code numZeroes}</sup>.
+	 */
+	private static String shiftLeft (String str, int numZeroes) {
+		
+		StringBuilder sb = new StringBuilder(str.length()+numZeroes);
+		sb.append(str);
+		
+		for (int i=0; i<numZeroes; i++) {
+			sb.append('0');
+		}
+		
+		return sb.toString();
+	}
+	
+	/**
+	 * Multiplies an integer represented by an integer array by 10<sup>{@code numZeroes}</sup>.
+	 */
+	private static int[] shiftLeft (int[] arr, int numZeroes) {
+		
+		return Arrays.copyOf(arr, arr.length+numZeroes);
+	}
+	
+	/**
+	 * Divides an integer represented by an integer array by 10<sup>{@code numDigits}</sup>, 
+	 * truncating the last {@code numDigits} digits.
+	 */
+	private static int[] shiftRight (int[] arr, int numDigits) {
+		
+		if (arr.length <= numDigits) {
+			int[] arrZero = {0};
+			return arrZero;
+		}
+		
+		return Arrays.copyOf(arr, arr.length-numDigits);
+	}
+	
+	/**
+	 * Removes the leading zeroes from an integer represented by a {@code String}, leaving "0" if
+	 * the integer is zero.
+	 */
+	private static String stripZeroes (String str) {
+		
+		int[] arr = BigMathHelper.removePaddedZeroes(BigMathHelper.toArray(str));
+		
+		return arr.length == 0 ? "0" : BigMathHelper.toString(arr);
+	}
+	
+	/**
+	 * Compares two non-negative integer arrays of possibly different lengths, which may contain
+	 * leading zeroes.
+	 */
+	private static int compareValues (int[] arr1, int[] arr2) {
+		
+		int len = Math.max(arr1.length, arr2.length);
 		
+		return BigMathHelper.compare(BigMathHelper.padZeroes(arr1, len-arr1.length), 
+				BigMathHelper.padZeroes(arr2, len-arr2.length));
 	}
 
 }
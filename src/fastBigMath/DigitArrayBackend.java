@@ -0,0 +1,55 @@
+package fastBigMath;
+
+/**
+ * The default {@code BigMathBackend}, which carries out each operation with the library's own
+ * digit array algorithms.
+ */
+
+public class DigitArrayBackend implements BigMathBackend {
+	
+	@Override
+	public int[] add (String sum1, String sum2) {
+		return BigMathSimple.addKernel(sum1, sum2);
+	}
+	
+	@Override
+	public int[] subtract (String min, String sub) {
+		return BigMathSimple.subtractKernel(min, sub);
+	}
+	
+	@Override
+	public int[] multiply (String fact1, String fact2) {
+		return BigMathSimple.multiplyKernel(fact1, fact2);
+	}
+	
+	@Override
+	public int[] divide (String divid, String div) {
+		return BigMathSimple.divideKernel(divid, div);
+	}
+	
+	@Override
+	public int[] modulate (String divid, String div) {
+		return BigMathSimple.modulateKernel(divid, div);
+	}
+	
+	@Override
+	public int[] add (int[] sum1, int[] sum2) {
+		return BigMathSimple.addKernel(sum1, sum2);
+	}
+	
+	@Override
+	public int[] subtract (int[] min, int[] sub) {
+		return BigMathSimple.subtractKernel(min, sub);
+	}
+	
+	@Override
+	public int[] multiply (int[] fact1, int[] fact2) {
+		return BigMathSimple.multiplyKernel(fact1, fact2);
+	}
+	
+	@Override
+	public String toString () {
+		return "DigitArrayBackend";
+	}
+
+}